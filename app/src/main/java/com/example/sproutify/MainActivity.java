@@ -4,13 +4,10 @@ import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
 import android.content.ServiceConnection;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.os.AsyncTask;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
 import android.os.Bundle;
-import android.os.Handler;
 import android.os.IBinder;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
@@ -18,14 +15,18 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
+import androidx.core.graphics.ColorUtils;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewpager2.widget.ViewPager2;
 
+import com.example.sproutify.data.CoverPalette;
 import com.example.sproutify.data.CsvLoader;
 import com.example.sproutify.data.MusicPlayerState;
+import com.example.sproutify.data.TrackCatalog;
 import com.example.sproutify.model.Track;
 import com.example.sproutify.service.MusicService;
+import com.example.sproutify.ui.FrameStats;
 import com.example.sproutify.ui.MainPagerAdapter;
 import com.example.sproutify.ui.TrackAdapter;
 import com.example.sproutify.ui.TracksFragment;
@@ -34,19 +35,16 @@ import com.google.android.material.tabs.TabLayout;
 import com.google.android.material.tabs.TabLayoutMediator;
 import com.google.android.material.appbar.MaterialToolbar;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.lang.ref.WeakReference;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
 
 /**
  * Activité principale de l'application Sproutify
  * Gère l'interface utilisateur principale, le lecteur de musique et la navigation
  */
-public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTrackClickListener, TrackAdapter.OnTrackFavoriteListener {
+public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTrackClickListener, TrackAdapter.OnTrackFavoriteListener, Observer {
     private static final String TAG = "MainActivity";
 
     private ViewPager2 viewPager;
@@ -61,8 +59,12 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
     private TextView miniPlayerArtist;
     private FloatingActionButton miniPlayerPlayPause;
     private FloatingActionButton miniPlayerNext;
-    private Handler handler;
-    private Runnable playerStatusChecker;
+    /** Piste et état de lecture affichés par le mini lecteur, pour ne mettre à jour que ce qui change */
+    private Track displayedTrack;
+    private Boolean displayedPlaying;
+    /** Fond d'origine du mini lecteur, relevé avant sa première teinte */
+    private Integer miniPlayerDefaultColor;
+    private FrameStats frameStats;
 
     private MusicService musicService;
     private boolean bound = false;
@@ -80,14 +82,11 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
             bound = true;
             
             // Ajouter le listener pour les changements de piste
+            // Le service publie la piste et l'état de lecture dans MusicPlayerState,
+            // que le mini lecteur observe : seules les erreurs passent par ce listener
             musicService.setPlaybackListener(new MusicService.OnPlaybackStateChangeListener() {
                 @Override
-                public void onPlaybackStateChanged(boolean playing) {
-                    runOnUiThread(() -> {
-                        MusicPlayerState.getInstance().setPlaying(playing);
-                        updateMiniPlayer();
-                    });
-                }
+                public void onPlaybackStateChanged(boolean playing) { }
 
                 @Override
                 public void onError(String errorMessage) {
@@ -95,16 +94,8 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
                 }
 
                 @Override
-                public void onTrackChanged(Track track) {
-                    runOnUiThread(() -> {
-                        MusicPlayerState.getInstance().setCurrentTrack(track);
-                        updateMiniPlayer();
-                    });
-                }
+                public void onTrackChanged(Track track) { }
             });
-            
-            // Mise à jour initiale
-            updateMiniPlayer();
         }
 
         @Override
@@ -123,8 +114,11 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        // Initialisation du Handler
-        handler = new Handler(Looper.getMainLooper());
+        // Index du catalogue persistés dans le stockage de l'application
+        TrackCatalog.getInstance().init(this);
+
+        // Temps de rendu du défilement et de la saisie (builds de débogage uniquement)
+        frameStats = FrameStats.attach(this);
 
         // Initialisation de la Toolbar
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
@@ -180,37 +174,35 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
     }
 
     /**
-     * Démarre le vérificateur périodique de l'état du lecteur
-     * Met à jour l'interface toutes les secondes pour refléter l'état actuel de la lecture
+     * Abonne le mini lecteur aux changements d'état du lecteur
+     * et rattrape ceux survenus pendant que l'activité n'était pas visible
      */
-    private void startPlayerStatusChecker() {
-        if (handler != null) {
-            handler.postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    if (handler != null) {
-                        checkAndUpdateMiniPlayer();
-                        handler.postDelayed(this, 1000);
-                    }
-                }
-            }, 1000);
-        }
-    }
-
     @Override
     protected void onResume() {
         super.onResume();
-        if (handler != null) {
-            startPlayerStatusChecker();
-        }
+        MusicPlayerState.getInstance().addObserver(this);
+        updateMiniPlayer();
     }
 
     @Override
     protected void onPause() {
         super.onPause();
-        if (handler != null) {
-            handler.removeCallbacksAndMessages(null);
-        }
+        MusicPlayerState.getInstance().deleteObserver(this);
+    }
+
+    /**
+     * Appelé à chaque changement de MusicPlayerState
+     * Met à jour uniquement la partie du mini lecteur concernée
+     */
+    @Override
+    public void update(Observable observable, Object change) {
+        runOnUiThread(() -> {
+            if (change == MusicPlayerState.CHANGE_TRACK) {
+                bindMiniPlayerTrack();
+            } else if (change == MusicPlayerState.CHANGE_PLAYING) {
+                bindMiniPlayerPlaying();
+            }
+        });
     }
 
     /**
@@ -276,6 +268,7 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
     private void updateTracks(List<Track> tracks) {
         allTracks = tracks;
         MusicPlayerState.getInstance().setTrackList(tracks);
+        TrackCatalog.getInstance().setTracks(tracks);
         updateAllFragments();
     }
 
@@ -384,25 +377,23 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
     }
 
     /**
-     * Vérifie et met à jour l'état du mini lecteur
-     * Synchronise l'interface avec l'état actuel de la lecture
+     * Met à jour l'interface du mini lecteur
+     * Affiche les informations de la piste en cours et l'état de lecture
      */
-    private void checkAndUpdateMiniPlayer() {
-        if (bound && musicService != null) {
-            updateMiniPlayer();
-        }
+    private void updateMiniPlayer() {
+        bindMiniPlayerTrack();
+        bindMiniPlayerPlaying();
     }
 
     /**
-     * Met à jour l'interface du mini lecteur
-     * Affiche les informations de la piste en cours et l'état de lecture
+     * Affiche la piste en cours dans le mini lecteur, si elle a changé
      */
-    private void updateMiniPlayer() {
-        if (!bound || musicService == null) {
+    private void bindMiniPlayerTrack() {
+        Track currentTrack = MusicPlayerState.getInstance().getCurrentTrack();
+        if (miniPlayerLayout == null || (currentTrack == displayedTrack && currentTrack != null)) {
             return;
         }
-
-        Track currentTrack = MusicPlayerState.getInstance().getCurrentTrack();
+        displayedTrack = currentTrack;
         if (currentTrack == null) {
             miniPlayerLayout.setVisibility(View.GONE);
             return;
@@ -415,18 +406,44 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
         miniPlayerTitle.setText(currentTrack.title);
         miniPlayerArtist.setText(currentTrack.artist);
 
-        // Mettre à jour l'icône play/pause
-        boolean isPlaying = musicService.isPlaying();
-        miniPlayerPlayPause.setImageResource(isPlaying ? R.drawable.ic_pause : R.drawable.ic_play);
+        // Charger l'image de couverture et teinter le mini lecteur de sa couleur dominante
+        CoverPalette coverPalette = CoverPalette.getInstance(this);
+        if (coverPalette.getColor(currentTrack) == CoverPalette.NO_COLOR) {
+            applyMiniPlayerColor(CoverPalette.NO_COLOR);
+        }
+        coverPalette.loadCover(currentTrack, miniPlayerCover, R.drawable.placeholder_album, (track, color) -> {
+            if (track == displayedTrack) {
+                applyMiniPlayerColor(color);
+            }
+        });
 
-        // Charger l'image de couverture
-        if (currentTrack.coverUrl != null && !currentTrack.coverUrl.isEmpty()) {
-            new LoadImageTask(miniPlayerCover).execute(currentTrack.coverUrl);
-        } else {
-            miniPlayerCover.setImageResource(R.drawable.placeholder_album);
+        Log.d(TAG, "Mini player updated - Track: " + currentTrack.title);
+    }
+
+    /**
+     * Teinte le fond du mini lecteur d'après la couleur dominante de la pochette
+     * @param color Couleur dominante, ou CoverPalette.NO_COLOR pour le fond habituel
+     */
+    private void applyMiniPlayerColor(int color) {
+        if (miniPlayerDefaultColor == null) {
+            Drawable background = miniPlayerLayout.getBackground();
+            miniPlayerDefaultColor = background instanceof ColorDrawable
+                    ? ((ColorDrawable) background).getColor() : getColor(R.color.surface);
         }
+        miniPlayerLayout.setBackgroundColor(color == CoverPalette.NO_COLOR ? miniPlayerDefaultColor
+                : ColorUtils.blendARGB(color, miniPlayerDefaultColor, 0.6f));
+    }
 
-        Log.d(TAG, "Mini player updated - Track: " + currentTrack.title + ", Playing: " + isPlaying);
+    /**
+     * Affiche l'icône play/pause du mini lecteur, si l'état de lecture a changé
+     */
+    private void bindMiniPlayerPlaying() {
+        boolean isPlaying = MusicPlayerState.getInstance().isPlaying();
+        if (miniPlayerPlayPause == null || (displayedPlaying != null && displayedPlaying == isPlaying)) {
+            return;
+        }
+        displayedPlaying = isPlaying;
+        miniPlayerPlayPause.setImageResource(isPlaying ? R.drawable.ic_pause : R.drawable.ic_play);
     }
 
     /**
@@ -464,46 +481,13 @@ public class MainActivity extends AppCompatActivity implements TrackAdapter.OnTr
         }
     }
 
-    /**
-     * Tâche asynchrone pour le chargement des images
-     * Gère le téléchargement et le cache des images de couverture
-     */
-    private static class LoadImageTask extends AsyncTask<String, Void, Bitmap> {
-        private final WeakReference<ImageView> imageViewReference;
-
-        LoadImageTask(ImageView imageView) {
-            imageViewReference = new WeakReference<>(imageView);
-        }
-
-        @Override
-        protected Bitmap doInBackground(String... params) {
-            try {
-                URL url = new URL(params[0]);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.connect();
-                InputStream input = connection.getInputStream();
-                return BitmapFactory.decodeStream(input);
-            } catch (IOException e) {
-                Log.e("MainActivity", "Erreur lors du chargement de l'image: " + e.getMessage());
-                return null;
-            }
-        }
-
-        @Override
-        protected void onPostExecute(Bitmap result) {
-            if (result != null && imageViewReference.get() != null) {
-                imageViewReference.get().setImageBitmap(result);
-            }
-        }
-    }
-
     /**
      * Nettoie les ressources lors de la destruction de l'activité
      * Déconnecte le service et libère les ressources
      */
     @Override
     protected void onDestroy() {
+        FrameStats.detach(this, frameStats);
         super.onDestroy();
         if (bound) {
             unbindService(connection);
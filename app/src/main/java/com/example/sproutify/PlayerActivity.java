@@ -1,7 +1,8 @@
 package com.example.sproutify;
 
+import android.animation.Animator;
 import android.animation.AnimatorInflater;
-import android.animation.ObjectAnimator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.AnimatorSet;
 import android.content.BroadcastReceiver;
 import android.content.ComponentName;
@@ -9,18 +10,16 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
 import android.content.ServiceConnection;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.drawable.AnimationDrawable;
-import android.os.AsyncTask;
+import android.graphics.drawable.GradientDrawable;
 import android.os.Bundle;
 import android.os.IBinder;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 import android.view.View;
-import android.view.animation.Animation;
-import android.view.animation.AnimationUtils;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
 import android.widget.ImageButton;
 import android.widget.ImageView;
 import android.widget.SeekBar;
@@ -34,29 +33,30 @@ import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.annotation.Nullable;
+import androidx.core.graphics.ColorUtils;
+import androidx.lifecycle.ViewModelProvider;
 
-import com.bumptech.glide.Glide;
+import com.example.sproutify.data.CoverPalette;
 import com.example.sproutify.data.FavoritesManager;
+import com.example.sproutify.data.ImageLoader;
 import com.example.sproutify.data.MusicPlayerState;
 import com.example.sproutify.data.QueueManager;
+import com.example.sproutify.data.TrackCatalog;
 import com.example.sproutify.model.Track;
 import com.example.sproutify.service.MusicService;
+import com.example.sproutify.ui.FrameStats;
+import com.example.sproutify.ui.LyricsAdapter;
+import com.example.sproutify.ui.PlayerViewModel;
 import com.example.sproutify.ui.QueueAdapter;
+import com.example.sproutify.ui.SeekBarAnimator;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.PlaybackException;
 import com.google.android.material.button.MaterialButton;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.lang.ref.WeakReference;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Activité du lecteur de musique complet
@@ -77,7 +77,7 @@ public class PlayerActivity extends AppCompatActivity {
     private List<Track> trackList = new ArrayList<>();
     private int currentTrackPosition = 0;
     private Handler handler;
-    private Runnable updateSeekBar;
+    private SeekBarAnimator seekBarAnimator;
     private boolean isLoading = false;
     private FavoritesManager favoritesManager;
     private boolean isPlaying = false;
@@ -85,22 +85,24 @@ public class PlayerActivity extends AppCompatActivity {
     private boolean bound = false;
 
     // Animations
-    private Animation rotateAnimation;
-    private Animation pulseAnimation;
+    /** Durée des glissements de pochette au changement de piste */
+    private static final long SLIDE_DURATION = 300;
+    /** Durée de chaque moitié de la pulsation des boutons */
+    private static final long PULSE_DURATION = 150;
+    private final Interpolator transitionInterpolator = new AccelerateDecelerateInterpolator();
+    private AnimatorSet favoriteAnimator;
     private AnimationDrawable equalizerAnimation;
     private ImageView equalizerView;
-
-    // Animations de transition
-    private Animation slideOutLeft;
-    private Animation slideInRight;
-    private Animation slideOutRight;
-    private Animation slideInLeft;
+    private FrameStats frameStats;
+    private PlayerViewModel viewModel;
 
     // UI Components
     private ImageView coverImageView;
     private TextView titleTextView;
     private TextView artistTextView;
-    private TextView lyricsTextView; // TextView pour les paroles
+    private TextView lyricsTextView; // TextView affiché en l'absence de paroles
+    private RecyclerView lyricsRecyclerView; // Liste des lignes de paroles
+    private LyricsAdapter lyricsAdapter;
     private SeekBar seekBar;
     private TextView currentTimeTextView;
     private TextView totalTimeTextView;
@@ -109,6 +111,8 @@ public class PlayerActivity extends AppCompatActivity {
     private ImageButton nextButton;
     private FloatingActionButton favoriteButton;
     private MaterialToolbar toolbar;
+    private View playerRoot;
+    private int displayedCoverColor = CoverPalette.NO_COLOR;
     private RecyclerView queueRecyclerView;
     private QueueAdapter queueAdapter;
     private ItemTouchHelper itemTouchHelper;
@@ -134,19 +138,7 @@ public class PlayerActivity extends AppCompatActivity {
                     updateUI();
                     setupSeekBar();
                     setupButtons(); // Réinitialiser les boutons après la connexion
-                    
-                    // Si une piste est déjà sélectionnée, la jouer
-                    if (currentTrack != null) {
-                        Log.d(TAG, "onServiceConnected: Piste déjà sélectionnée, démarrage de la lecture");
-                        loadAndPlayTrack();
-                        
-                        // Appliquer la position de lecture si elle a été fournie
-                        int currentPosition = getIntent().getIntExtra(EXTRA_CURRENT_POSITION, 0);
-                        if (currentPosition > 0) {
-                            Log.d(TAG, "onServiceConnected: Application de la position de lecture: " + currentPosition);
-                            musicService.seekTo(currentPosition);
-                        }
-                    }
+                    attachToSession();
                 });
             } catch (Exception e) {
                 Log.e(TAG, "onServiceConnected: Erreur lors de la connexion au service", e);
@@ -173,6 +165,85 @@ public class PlayerActivity extends AppCompatActivity {
         }
     };
 
+    /**
+     * Listener des changements d'état de la lecture
+     * Met à jour l'interface et enchaîne sur la piste suivante en fin de morceau
+     */
+    private final MusicService.OnPlaybackStateChangeListener playbackListener =
+            new MusicService.OnPlaybackStateChangeListener() {
+        @Override
+        public void onPlaybackStateChanged(boolean playing) {
+            Log.d(TAG, "onPlaybackStateChanged: État de lecture changé - isPlaying: " + playing);
+            runOnUiThread(() -> {
+                isLoading = false;
+                if (playing) {
+                    // Lecture prête
+                    Log.d(TAG, "onPlaybackStateChanged: Démarrage des animations");
+                    startAnimations();
+
+                    // Initialiser la barre de progression
+                    int duration = musicService.getDuration();
+                    Log.d(TAG, "onPlaybackStateChanged: Durée de la piste: " + duration);
+                    if (seekBar != null) {
+                        seekBar.setMax(duration);
+                    }
+                    if (totalTimeTextView != null) {
+                        totalTimeTextView.setText(formatDuration(duration));
+                    }
+                    syncSeekBar();
+
+                    // Mettre à jour l'interface utilisateur
+                    updatePlayPauseButton();
+                    MusicPlayerState.getInstance().setPlaying(true);
+                    Log.d(TAG, "onPlaybackStateChanged: Interface utilisateur mise à jour");
+                } else {
+                    // Lecture en pause ou terminée
+                    Log.d(TAG, "onPlaybackStateChanged: Arrêt des animations");
+                    stopAnimations();
+                    MusicPlayerState.getInstance().setPlaying(false);
+                    
+                    // Vérifier si la lecture est terminée (et non en pause)
+                    if (musicService != null && musicService.getCurrentPosition() >= musicService.getDuration() - 100) {
+                        Log.d(TAG, "onPlaybackStateChanged: Lecture terminée, passage à la piste suivante");
+                        playNextTrack();
+                    } else {
+                        Log.d(TAG, "onPlaybackStateChanged: Lecture en pause");
+                        updatePlayPauseButton();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            Log.e(TAG, "onError: Erreur de lecture - " + errorMessage);
+            runOnUiThread(() -> {
+                isLoading = false;
+                MusicPlayerState.getInstance().setPlaying(false);
+
+                // Afficher un message d'erreur à l'utilisateur
+                Toast.makeText(PlayerActivity.this,
+                    "Impossible de lire ce fichier audio: " + errorMessage,
+                    Toast.LENGTH_SHORT).show();
+
+                // Réinitialiser l'interface utilisateur
+                stopAnimations();
+                updatePlayPauseButton();
+                Log.d(TAG, "onError: Interface utilisateur réinitialisée");
+            });
+        }
+
+        @Override
+        public void onTrackChanged(Track track) {
+            Log.d(TAG, "onTrackChanged: Nouvelle piste - " + track.title);
+            runOnUiThread(() -> {
+                currentTrack = track;
+                updateUI();
+                Log.d(TAG, "onTrackChanged: Interface mise à jour pour la nouvelle piste");
+            });
+        }
+    };
+
     public static boolean isActive() {
         return isActive;
     }
@@ -187,12 +258,20 @@ public class PlayerActivity extends AppCompatActivity {
         isActive = true;
         setContentView(R.layout.activity_player);
 
+        // Temps de rendu pendant la lecture (builds de débogage uniquement)
+        frameStats = FrameStats.attach(this);
+
+        // État de l'écran conservé à travers les changements de configuration
+        viewModel = new ViewModelProvider(this).get(PlayerViewModel.class);
+
         // Initialisation du QueueManager
         queueManager = QueueManager.getInstance();
         
-        // Initialisation de la liste de base
-        List<Track> baseList = MusicPlayerState.getInstance().getTrackList();
-        queueManager.setBaseList(baseList);
+        // Initialisation de la liste de base (la file en cours est gardée si l'écran est recréé)
+        if (!viewModel.hasSession()) {
+            List<Track> baseList = MusicPlayerState.getInstance().getTrackList();
+            queueManager.setBaseList(baseList);
+        }
 
         // Initialisation du Handler
         handler = new Handler(Looper.getMainLooper());
@@ -202,14 +281,19 @@ public class PlayerActivity extends AppCompatActivity {
         titleTextView = findViewById(R.id.playerTrackTitle);
         artistTextView = findViewById(R.id.playerArtistName);
         lyricsTextView = findViewById(R.id.playerLyricsText);
+        lyricsRecyclerView = findViewById(R.id.playerLyricsList);
+        setupLyrics();
         seekBar = findViewById(R.id.playerSeekBar);
         currentTimeTextView = findViewById(R.id.playerCurrentTime);
         totalTimeTextView = findViewById(R.id.playerTotalTime);
+        seekBarAnimator = new SeekBarAnimator(seekBar, currentTimeTextView);
+        seekBarAnimator.setOnPositionListener(lyricsAdapter::onPlaybackPosition);
         playPauseButton = findViewById(R.id.playerPlayPauseButton);
         previousButton = findViewById(R.id.playerPrevButton);
         nextButton = findViewById(R.id.playerNextButton);
         favoriteButton = findViewById(R.id.playerFavoriteButton);
         toolbar = findViewById(R.id.playerToolbar);
+        playerRoot = findViewById(R.id.playerRoot);
         equalizerView = findViewById(R.id.playerEqualizer);
         queueRecyclerView = findViewById(R.id.queueRecyclerView);
 
@@ -242,10 +326,18 @@ public class PlayerActivity extends AppCompatActivity {
         Track track = getIntent().getParcelableExtra(EXTRA_TRACK);
         ArrayList<Track> tracks = getIntent().getParcelableArrayListExtra(EXTRA_TRACK_LIST);
         int position = getIntent().getIntExtra(EXTRA_TRACK_POSITION, 0);
-        int currentPosition = getIntent().getIntExtra(EXTRA_CURRENT_POSITION, 0);
 
-        if (track != null && tracks != null && !tracks.isEmpty()) {
-            trackList = new ArrayList<>(tracks); // Créer une nouvelle liste pour éviter les problèmes de référence
+        if (viewModel.hasSession()) {
+            // Écran recréé (rotation) : la lecture continue dans le service, on reprend son état
+            trackList = viewModel.getTrackList();
+            Track playingTrack = MusicPlayerState.getInstance().getCurrentTrack();
+            currentTrack = playingTrack != null ? playingTrack : track;
+            currentTrackPosition = trackList.indexOf(currentTrack);
+            Log.d(TAG, "onCreate: Session conservée, piste actuelle: " + currentTrackPosition);
+            updateUI();
+        } else if (track != null && tracks != null && !tracks.isEmpty()) {
+            viewModel.startSession(tracks); // Copie pour éviter les problèmes de référence
+            trackList = viewModel.getTrackList();
             currentTrackPosition = position;
             currentTrack = track;
             
@@ -257,15 +349,9 @@ public class PlayerActivity extends AppCompatActivity {
             
             Log.d(TAG, "onCreate: Liste des pistes initialisée avec " + trackList.size() + " pistes");
             Log.d(TAG, "onCreate: Position actuelle: " + currentTrackPosition);
-            Log.d(TAG, "onCreate: Position de lecture: " + currentPosition);
             
+            // La lecture démarre à la connexion au service (attachToSession)
             updateUI();
-            loadAndPlayTrack();
-            
-            // Si une position de lecture a été fournie, on se positionne à cet endroit
-            if (currentPosition > 0 && bound && musicService != null) {
-                musicService.seekTo(currentPosition);
-            }
         } else {
             Log.e(TAG, "onCreate: Données invalides - track: " + (track != null) + ", tracks: " + (tracks != null));
             Toast.makeText(this, "Erreur: Impossible de charger la liste des pistes", Toast.LENGTH_SHORT).show();
@@ -311,20 +397,25 @@ public class PlayerActivity extends AppCompatActivity {
         }
 
         // Arrêter les mises à jour du seekBar
-        if (handler != null && updateSeekBar != null) {
-            handler.removeCallbacks(updateSeekBar);
+        if (seekBarAnimator != null) {
+            seekBarAnimator.stop();
         }
     }
 
     @Override
     protected void onDestroy() {
+        FrameStats.detach(this, frameStats);
         super.onDestroy();
         isActive = false;
-        if (handler != null && updateSeekBar != null) {
-            handler.removeCallbacks(updateSeekBar);
+        if (seekBarAnimator != null) {
+            seekBarAnimator.stop();
         }
         if (coverImageView != null) {
-            coverImageView.clearAnimation();
+            // Annule aussi l'enchaînement vers la piste suivante ou précédente
+            coverImageView.animate().cancel();
+        }
+        if (favoriteAnimator != null) {
+            favoriteAnimator.cancel();
         }
     }
 
@@ -345,88 +436,66 @@ public class PlayerActivity extends AppCompatActivity {
 
             @Override
             public void onStartTrackingTouch(SeekBar seekBar) {
-                if (handler != null) {
-                    handler.removeCallbacks(updateSeekBar);
-                }
+                seekBarAnimator.stop();
             }
 
             @Override
             public void onStopTrackingTouch(SeekBar seekBar) {
-                if (handler != null) {
-                    startSeekBarUpdates();
-                }
+                syncSeekBar();
             }
         });
     }
 
     /**
      * Initialise les animations du lecteur
-     * Configure les animations de rotation, pulsation et égaliseur
+     * Les animations de propriétés (pochette, boutons) ne modifient que des propriétés
+     * de rendu (translation, échelle, transparence) d'une vue dessinée dans une couche
+     * matérielle le temps de l'animation : chaque image est composée par le thread de rendu
+     * sans redessiner la vue. L'animation du bouton favori est chargée une seule fois.
      */
     private void setupAnimations() {
-        // Animation de vue (View Animation) - Rotation de la pochette d'album
-        rotateAnimation = AnimationUtils.loadAnimation(this, R.anim.rotate_album_art);
-        rotateAnimation.setRepeatCount(Animation.INFINITE);
-
-        // Animation de vue (View Animation) - Pulsation des boutons
-        pulseAnimation = AnimationUtils.loadAnimation(this, R.anim.pulse_animation);
-
         // Animation image par image (Frame Animation) - Égaliseur
         equalizerAnimation = (AnimationDrawable) equalizerView.getDrawable();
 
-        // Animations de transition pour le changement de piste
-        slideOutLeft = AnimationUtils.loadAnimation(this, R.anim.slide_out_left);
-        slideInRight = AnimationUtils.loadAnimation(this, R.anim.slide_in_right);
-        slideOutRight = AnimationUtils.loadAnimation(this, R.anim.slide_out_right);
-        slideInLeft = AnimationUtils.loadAnimation(this, R.anim.slide_in_left);
-
-        // Configurer les écouteurs d'animation pour enchaîner les animations
-        slideOutLeft.setAnimationListener(new Animation.AnimationListener() {
+        // ObjectAnimator (Property Animation) - Bouton favori
+        favoriteAnimator = (AnimatorSet) AnimatorInflater.loadAnimator(this, R.animator.favorite_button_animation);
+        favoriteAnimator.setTarget(favoriteButton);
+        favoriteAnimator.addListener(new AnimatorListenerAdapter() {
             @Override
-            public void onAnimationStart(Animation animation) {}
-
-            @Override
-            public void onAnimationEnd(Animation animation) {
-                // Quand l'animation de sortie est terminée, lancer l'animation d'entrée
-                animateNextCover();
+            public void onAnimationStart(Animator animation) {
+                favoriteButton.setLayerType(View.LAYER_TYPE_HARDWARE, null);
             }
 
             @Override
-            public void onAnimationRepeat(Animation animation) {}
-        });
-
-        slideOutRight.setAnimationListener(new Animation.AnimationListener() {
-            @Override
-            public void onAnimationStart(Animation animation) {}
-
-            @Override
-            public void onAnimationEnd(Animation animation) {
-                // Quand l'animation de sortie est terminée, lancer l'animation d'entrée
-                animatePreviousCover();
+            public void onAnimationEnd(Animator animation) {
+                favoriteButton.setLayerType(View.LAYER_TYPE_NONE, null);
             }
-
-            @Override
-            public void onAnimationRepeat(Animation animation) {}
         });
 
-        // Application des animations
-        playPauseButton.setOnClickListener(v -> {
-            if (isPlaying) {
-                coverImageView.clearAnimation();
-                equalizerView.setVisibility(View.GONE);
-            } else {
-                coverImageView.startAnimation(rotateAnimation);
-                equalizerView.setVisibility(View.VISIBLE);
-            }
-            isPlaying = !isPlaying;
-            updatePlayPauseButton();
-        });
-        
         favoriteButton.setOnClickListener(v -> {
             toggleFavorite();
         });
     }
 
+    /**
+     * Pulsation d'un bouton de contrôle (réduction puis retour à la taille normale)
+     * @param view Bouton touché
+     */
+    private void pulse(View view) {
+        view.animate().cancel();
+        view.animate()
+            .scaleX(0.9f)
+            .scaleY(0.9f)
+            .setDuration(PULSE_DURATION)
+            .setInterpolator(transitionInterpolator)
+            .withLayer()
+            .withEndAction(() -> view.animate()
+                .scaleX(1f)
+                .scaleY(1f)
+                .setDuration(PULSE_DURATION)
+                .withLayer());
+    }
+
     /**
      * Configure les boutons de contrôle du lecteur
      * Initialise les actions pour lecture/pause, précédent/suivant et favoris
@@ -443,7 +512,7 @@ public class PlayerActivity extends AppCompatActivity {
             }
             
             try {
-                view.startAnimation(pulseAnimation);
+                pulse(view);
                 togglePlayPause();
                 Log.d(TAG, "PlayPause action completed successfully");
             } catch (Exception e) {
@@ -460,7 +529,7 @@ public class PlayerActivity extends AppCompatActivity {
             }
             
             try {
-                view.startAnimation(pulseAnimation);
+                pulse(view);
                 playPreviousTrack();
                 Log.d(TAG, "Previous action completed successfully");
             } catch (Exception e) {
@@ -477,7 +546,7 @@ public class PlayerActivity extends AppCompatActivity {
             }
             
             try {
-                view.startAnimation(pulseAnimation);
+                pulse(view);
                 playNextTrack();
                 Log.d(TAG, "Next action completed successfully");
             } catch (Exception e) {
@@ -512,13 +581,10 @@ public class PlayerActivity extends AppCompatActivity {
                 
                 if (isPlaying) {
                     startAnimations();
-                    startSeekBarUpdates();
                 } else {
                     stopAnimations();
-                    if (handler != null && updateSeekBar != null) {
-                        handler.removeCallbacks(updateSeekBar);
-                    }
                 }
+                syncSeekBar();
             });
         } catch (Exception e) {
             Log.e(TAG, "updatePlayPauseButton: Erreur lors de la mise à jour du bouton", e);
@@ -533,8 +599,6 @@ public class PlayerActivity extends AppCompatActivity {
         if (equalizerAnimation != null && !equalizerAnimation.isRunning()) {
             equalizerAnimation.start();
         }
-
-        // On ne démarre plus l'animation de rotation de la pochette
     }
 
     /**
@@ -546,21 +610,17 @@ public class PlayerActivity extends AppCompatActivity {
             equalizerAnimation.stop();
         }
 
-        // Animation de vue (View Animation)
-        if (coverImageView != null) {
-            coverImageView.clearAnimation();
-        }
     }
 
     /**
      * Applique l'animation ObjectAnimator sur le bouton favori
+     * Une animation en cours repart du début
      */
     private void animateFavoriteButton() {
-        // ObjectAnimator (Property Animation)
-        android.animation.AnimatorSet favoriteAnim = (android.animation.AnimatorSet)
-            AnimatorInflater.loadAnimator(this, R.animator.favorite_button_animation);
-        favoriteAnim.setTarget(favoriteButton);
-        favoriteAnim.start();
+        if (favoriteAnimator.isStarted()) {
+            favoriteAnimator.cancel();
+        }
+        favoriteAnimator.start();
     }
 
     /**
@@ -575,6 +635,41 @@ public class PlayerActivity extends AppCompatActivity {
         animateFavoriteButton();
     }
 
+    /**
+     * Rattache l'écran à la lecture du service une fois celui-ci connecté.
+     * La piste demandée par l'intent n'est chargée qu'une fois par session de l'écran ;
+     * ensuite (rotation, retour au premier plan), ou si le service joue déjà cette piste
+     * (ouverture depuis le mini lecteur), l'écran reprend l'état de la session en cours
+     * sans réinitialiser ni recharger le flux.
+     */
+    private void attachToSession() {
+        if (currentTrack == null) {
+            return;
+        }
+        Track liveTrack = musicService.getCurrentTrack();
+        boolean sameTrack = liveTrack != null && liveTrack.getStableId() == currentTrack.getStableId();
+        if (!viewModel.isPlaybackStarted() && !(sameTrack && getIntent().hasExtra(EXTRA_CURRENT_POSITION))) {
+            Log.d(TAG, "attachToSession: Démarrage de la lecture demandée");
+            viewModel.setPlaybackStarted();
+            loadAndPlayTrack();
+            return;
+        }
+
+        Log.d(TAG, "attachToSession: Reprise de la session en cours");
+        viewModel.setPlaybackStarted();
+        musicService.setPlaybackListener(playbackListener);
+        if (liveTrack != null && !sameTrack) {
+            currentTrack = liveTrack;
+            currentTrackPosition = trackList.indexOf(liveTrack);
+            updateUI();
+        }
+        int duration = musicService.getPlaybackSnapshot().durationMs;
+        if (duration > 0 && totalTimeTextView != null) {
+            totalTimeTextView.setText(formatDuration(duration));
+        }
+        updatePlayPauseButton();
+    }
+
     /**
      * Charge et joue la piste actuelle
      * Initialise la lecture et met à jour l'interface
@@ -605,79 +700,7 @@ public class PlayerActivity extends AppCompatActivity {
             boolean shouldResumeFromPosition = currentPosition > 0;
 
             // Configurer les listeners pour MediaPlayer
-            musicService.setPlaybackListener(new MusicService.OnPlaybackStateChangeListener() {
-                @Override
-                public void onPlaybackStateChanged(boolean playing) {
-                    Log.d(TAG, "onPlaybackStateChanged: État de lecture changé - isPlaying: " + playing);
-                    runOnUiThread(() -> {
-                        isLoading = false;
-                        if (playing) {
-                            // Lecture prête
-                            Log.d(TAG, "onPlaybackStateChanged: Démarrage des animations");
-                            startAnimations();
-
-                            // Initialiser la barre de progression
-                            int duration = musicService.getDuration();
-                            Log.d(TAG, "onPlaybackStateChanged: Durée de la piste: " + duration);
-                            if (seekBar != null) {
-                                seekBar.setMax(duration);
-                            }
-                            if (totalTimeTextView != null) {
-                                totalTimeTextView.setText(formatDuration(duration));
-                            }
-                            startSeekBarUpdates();
-
-                            // Mettre à jour l'interface utilisateur
-                            updatePlayPauseButton();
-                            MusicPlayerState.getInstance().setPlaying(true);
-                            Log.d(TAG, "onPlaybackStateChanged: Interface utilisateur mise à jour");
-                        } else {
-                            // Lecture en pause ou terminée
-                            Log.d(TAG, "onPlaybackStateChanged: Arrêt des animations");
-                            stopAnimations();
-                            MusicPlayerState.getInstance().setPlaying(false);
-                            
-                            // Vérifier si la lecture est terminée (et non en pause)
-                            if (musicService != null && musicService.getCurrentPosition() >= musicService.getDuration() - 100) {
-                                Log.d(TAG, "onPlaybackStateChanged: Lecture terminée, passage à la piste suivante");
-                                playNextTrack();
-                            } else {
-                                Log.d(TAG, "onPlaybackStateChanged: Lecture en pause");
-                                updatePlayPauseButton();
-                            }
-                        }
-                    });
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    Log.e(TAG, "onError: Erreur de lecture - " + errorMessage);
-                    runOnUiThread(() -> {
-                        isLoading = false;
-                        MusicPlayerState.getInstance().setPlaying(false);
-
-                        // Afficher un message d'erreur à l'utilisateur
-                        Toast.makeText(PlayerActivity.this,
-                            "Impossible de lire ce fichier audio: " + errorMessage,
-                            Toast.LENGTH_SHORT).show();
-
-                        // Réinitialiser l'interface utilisateur
-                        stopAnimations();
-                        updatePlayPauseButton();
-                        Log.d(TAG, "onError: Interface utilisateur réinitialisée");
-                    });
-                }
-
-                @Override
-                public void onTrackChanged(Track track) {
-                    Log.d(TAG, "onTrackChanged: Nouvelle piste - " + track.title);
-                    runOnUiThread(() -> {
-                        currentTrack = track;
-                        updateUI();
-                        Log.d(TAG, "onTrackChanged: Interface mise à jour pour la nouvelle piste");
-                    });
-                }
-            });
+            musicService.setPlaybackListener(playbackListener);
 
             // Réinitialiser le lecteur et lancer la lecture
             musicService.reset();
@@ -726,7 +749,7 @@ public class PlayerActivity extends AppCompatActivity {
      */
     private void playPreviousTrack() {
         if (bound && musicService != null) {
-            Track previousTrack = queueManager.getPreviousTrack();
+            Track previousTrack = queueManager.peekPreviousTrack();
             if (previousTrack != null) {
                 // Lancer l'animation de glissement vers la droite
                 animateToPreviousTrack();
@@ -741,7 +764,7 @@ public class PlayerActivity extends AppCompatActivity {
      */
     private void playNextTrack() {
         if (bound && musicService != null) {
-            Track nextTrack = queueManager.getNextTrack();
+            Track nextTrack = queueManager.peekNextTrack();
             if (nextTrack != null) {
                 // Lancer l'animation de glissement vers la gauche
                 animateToNextTrack();
@@ -766,17 +789,23 @@ public class PlayerActivity extends AppCompatActivity {
     }
 
     /**
-     * Met à jour la barre de progression
-     * Synchronise la position de lecture avec l'interface
+     * Teinte le fond du lecteur d'après la couleur dominante de la pochette :
+     * dégradé de la couleur (assombrie) vers le fond habituel.
+     * @param color Couleur dominante, ou CoverPalette.NO_COLOR pour le fond habituel
      */
-    private void updateSeekBar() {
-        if (bound && musicService != null && musicService.isPlaying()) {
-            int currentPosition = musicService.getCurrentPosition();
-            seekBar.setProgress(currentPosition);
-            currentTimeTextView.setText(formatDuration(currentPosition));
-            totalTimeTextView.setText(formatDuration(musicService.getDuration()));
-            handler.postDelayed(this::updateSeekBar, 1000);
+    private void applyCoverColor(int color) {
+        if (playerRoot == null || color == displayedCoverColor) {
+            return;
+        }
+        displayedCoverColor = color;
+        int background = getColor(R.color.background);
+        if (color == CoverPalette.NO_COLOR) {
+            playerRoot.setBackgroundColor(background);
+            return;
         }
+        int top = ColorUtils.blendARGB(color, background, 0.45f);
+        playerRoot.setBackground(new GradientDrawable(GradientDrawable.Orientation.TOP_BOTTOM,
+                new int[] { top, background }));
     }
 
     /**
@@ -784,11 +813,7 @@ public class PlayerActivity extends AppCompatActivity {
      * Convertit les millisecondes en format MM:SS
      */
     private String formatDuration(long duration) {
-        return String.format(Locale.getDefault(), "%02d:%02d",
-                TimeUnit.MILLISECONDS.toMinutes(duration),
-                TimeUnit.MILLISECONDS.toSeconds(duration) -
-                TimeUnit.MINUTES.toSeconds(TimeUnit.MILLISECONDS.toMinutes(duration))
-        );
+        return SeekBarAnimator.formatSeconds((int) (duration / 1000));
     }
 
     /**
@@ -817,26 +842,28 @@ public class PlayerActivity extends AppCompatActivity {
                 }
 
                 // Affichage des paroles si disponibles
-                if (lyricsTextView != null) {
-                    if (currentTrack.contentLines != null && !currentTrack.contentLines.isEmpty()) {
-                        lyricsTextView.setText(currentTrack.contentLines);
-                        lyricsTextView.setVisibility(View.VISIBLE);
-                        Log.d(TAG, "updateUI: Paroles mises à jour");
-                    } else {
-                        lyricsTextView.setText("Aucune parole disponible");
-                        lyricsTextView.setVisibility(View.VISIBLE);
-                        Log.d(TAG, "updateUI: Aucune parole disponible");
-                    }
+                if (lyricsAdapter != null) {
+                    lyricsAdapter.setLyrics(currentTrack.contentLines);
                 }
 
                 // Chargement de l'image
                 if (coverImageView != null) {
                     if (currentTrack.coverUrl != null && !currentTrack.coverUrl.isEmpty()) {
                         Log.d(TAG, "updateUI: Chargement de l'image de couverture - " + currentTrack.coverUrl);
-                        // Utiliser la même approche que dans MainActivity
-                        new LoadImageTask(coverImageView).execute(currentTrack.coverUrl);
+                        CoverPalette coverPalette = CoverPalette.getInstance(this);
+                        if (coverPalette.getColor(currentTrack) == CoverPalette.NO_COLOR) {
+                            applyCoverColor(CoverPalette.NO_COLOR); // En attendant l'extraction
+                        }
+                        coverPalette.loadCover(currentTrack, coverImageView, R.drawable.album_placeholder,
+                                (track, color) -> {
+                                    if (track == currentTrack) {
+                                        applyCoverColor(color);
+                                    }
+                                });
+                        prefetchNeighborCovers();
                     } else {
                         coverImageView.setImageResource(R.drawable.album_placeholder);
+                        applyCoverColor(CoverPalette.NO_COLOR);
                         Log.d(TAG, "updateUI: URL de couverture vide, image par défaut affichée");
                     }
                 } else {
@@ -861,9 +888,7 @@ public class PlayerActivity extends AppCompatActivity {
                         totalTimeTextView.setText(formatDuration(duration));
                     }
                     
-                    if (currentTimeTextView != null) {
-                        currentTimeTextView.setText(formatDuration(musicService.getCurrentPosition()));
-                    }
+                    syncSeekBar();
                 }
 
                 Log.d(TAG, "updateUI: Mise à jour de l'interface terminée avec succès");
@@ -873,6 +898,26 @@ public class PlayerActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Configure la liste des paroles
+     * Les lignes sont préparées en arrière-plan ; le texte « Aucune parole disponible »
+     * remplace la liste pour les morceaux sans paroles
+     */
+    private void setupLyrics() {
+        lyricsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        lyricsAdapter = new LyricsAdapter(lyricsRecyclerView, lineCount -> {
+            boolean hasLyrics = lineCount > 0;
+            lyricsRecyclerView.setVisibility(hasLyrics ? View.VISIBLE : View.GONE);
+            lyricsTextView.setVisibility(hasLyrics ? View.GONE : View.VISIBLE);
+            if (hasLyrics) {
+                lyricsRecyclerView.scrollToPosition(0);
+                syncSeekBar(); // Met en avant la ligne en cours des paroles synchronisées
+            }
+            Log.d(TAG, "onLyricsReady: " + lineCount + " lignes de paroles");
+        });
+        lyricsRecyclerView.setAdapter(lyricsAdapter);
+    }
+
     /**
      * Configure la barre de progression
      * Initialise les écouteurs pour le contrôle de la position de lecture
@@ -891,17 +936,13 @@ public class PlayerActivity extends AppCompatActivity {
             @Override
             public void onStartTrackingTouch(SeekBar seekBar) {
                 Log.d(TAG, "onStartTrackingTouch: Début du suivi");
-                if (handler != null && updateSeekBar != null) {
-                    handler.removeCallbacks(updateSeekBar);
-                }
+                seekBarAnimator.stop();
             }
 
             @Override
             public void onStopTrackingTouch(SeekBar seekBar) {
                 Log.d(TAG, "onStopTrackingTouch: Fin du suivi");
-                if (bound && musicService != null && musicService.isPlaying()) {
-                    startSeekBarUpdates();
-                }
+                syncSeekBar();
             }
         });
     }
@@ -910,20 +951,64 @@ public class PlayerActivity extends AppCompatActivity {
      * Démarre l'animation de glissement de la pochette vers la piste suivante
      */
     private void animateToNextTrack() {
-        // On arrête la rotation d'abord
-        coverImageView.clearAnimation();
-        // On lance l'animation de sortie par la gauche
-        coverImageView.startAnimation(slideOutLeft);
+        // Sortie par la gauche, puis entrée de la nouvelle pochette par la droite
+        slideCoverOut(-coverImageView.getWidth(), this::animateNextCover);
+    }
+
+    /**
+     * Précharge et décode les pochettes des pistes suivante et précédente à la taille
+     * de la pochette affichée : à la fin des animations de transition, l'image est
+     * déjà dans le cache mémoire.
+     */
+    private void prefetchNeighborCovers() {
+        ImageLoader imageLoader = ImageLoader.getInstance(this);
+        Track nextTrack = queueManager.peekNextTrack();
+        if (nextTrack != null) {
+            imageLoader.prefetch(nextTrack.coverUrl, coverImageView);
+        }
+        Track previousTrack = queueManager.peekPreviousTrack();
+        if (previousTrack != null) {
+            imageLoader.prefetch(previousTrack.coverUrl, coverImageView);
+        }
     }
 
     /**
      * Démarre l'animation de glissement de la pochette vers la piste précédente
      */
     private void animateToPreviousTrack() {
-        // On arrête la rotation d'abord
-        coverImageView.clearAnimation();
-        // On lance l'animation de sortie par la droite
-        coverImageView.startAnimation(slideOutRight);
+        // Sortie par la droite, puis entrée de la nouvelle pochette par la gauche
+        slideCoverOut(coverImageView.getWidth(), this::animatePreviousCover);
+    }
+
+    /**
+     * Fait glisser la pochette hors de l'écran en la faisant disparaître
+     * @param toX Translation horizontale finale
+     * @param endAction Action lancée à la fin du glissement (non lancée s'il est annulé)
+     */
+    private void slideCoverOut(float toX, Runnable endAction) {
+        coverImageView.animate().cancel();
+        coverImageView.animate()
+            .translationX(toX)
+            .alpha(0f)
+            .setDuration(SLIDE_DURATION)
+            .setInterpolator(transitionInterpolator)
+            .withLayer()
+            .withEndAction(endAction);
+    }
+
+    /**
+     * Fait entrer la pochette depuis le côté de l'écran en la faisant apparaître
+     * @param fromX Translation horizontale de départ
+     */
+    private void slideCoverIn(float fromX) {
+        coverImageView.setTranslationX(fromX);
+        coverImageView.setAlpha(0f);
+        coverImageView.animate()
+            .translationX(0f)
+            .alpha(1f)
+            .setDuration(SLIDE_DURATION)
+            .setInterpolator(transitionInterpolator)
+            .withLayer();
     }
 
     /**
@@ -942,7 +1027,7 @@ public class PlayerActivity extends AppCompatActivity {
         }
 
         // Démarrer l'animation d'entrée par la droite
-        coverImageView.startAnimation(slideInRight);
+        slideCoverIn(coverImageView.getWidth());
     }
 
     /**
@@ -961,7 +1046,7 @@ public class PlayerActivity extends AppCompatActivity {
         }
 
         // Démarrer l'animation d'entrée par la gauche
-        coverImageView.startAnimation(slideInLeft);
+        slideCoverIn(-coverImageView.getWidth());
     }
 
     /**
@@ -1080,37 +1165,6 @@ public class PlayerActivity extends AppCompatActivity {
         }
     }
 
-    // Classe AsyncTask pour charger les images
-    private static class LoadImageTask extends AsyncTask<String, Void, Bitmap> {
-        private final WeakReference<ImageView> imageViewReference;
-
-        LoadImageTask(ImageView imageView) {
-            imageViewReference = new WeakReference<>(imageView);
-        }
-
-        @Override
-        protected Bitmap doInBackground(String... params) {
-            try {
-                URL url = new URL(params[0]);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.connect();
-                InputStream input = connection.getInputStream();
-                return BitmapFactory.decodeStream(input);
-            } catch (IOException e) {
-                Log.e(TAG, "Erreur lors du chargement de l'image: " + e.getMessage());
-                return null;
-            }
-        }
-
-        @Override
-        protected void onPostExecute(Bitmap result) {
-            if (result != null && imageViewReference.get() != null) {
-                imageViewReference.get().setImageBitmap(result);
-            }
-        }
-    }
-
     @Override
     public void finish() {
         super.finish();
@@ -1140,13 +1194,10 @@ public class PlayerActivity extends AppCompatActivity {
                     
                     if (isPlaying) {
                         startAnimations();
-                        startSeekBarUpdates();
                     } else {
                         stopAnimations();
-                        if (handler != null && updateSeekBar != null) {
-                            handler.removeCallbacks(updateSeekBar);
-                        }
                     }
+                    syncSeekBar();
                 });
             }, 100);
         } catch (Exception e) {
@@ -1155,21 +1206,13 @@ public class PlayerActivity extends AppCompatActivity {
         }
     }
 
-    private void startSeekBarUpdates() {
-        if (handler != null) {
-            handler.removeCallbacks(updateSeekBar);
-            updateSeekBar = new Runnable() {
-                @Override
-                public void run() {
-                    if (bound && musicService != null && musicService.isPlaying()) {
-                        int currentPosition = musicService.getCurrentPosition();
-                        seekBar.setProgress(currentPosition);
-                        currentTimeTextView.setText(formatDuration(currentPosition));
-                        handler.postDelayed(this, 1000);
-                    }
-                }
-            };
-            handler.post(updateSeekBar);
+    /**
+     * Recale la barre de progression sur le dernier relevé du service ;
+     * elle avance ensuite seule à chaque image tant que la lecture continue.
+     */
+    private void syncSeekBar() {
+        if (bound && musicService != null && seekBarAnimator != null) {
+            seekBarAnimator.setSnapshot(musicService.getPlaybackSnapshot());
         }
     }
 
@@ -1223,97 +1266,57 @@ public class PlayerActivity extends AppCompatActivity {
 
     /**
      * Affiche la boîte de dialogue d'ajout à la file d'attente
-     * Permet à l'utilisateur de sélectionner des pistes à ajouter
+     * Ouvre le sélecteur de pistes pour ajouter les pistes choisies à l'endroit demandé
      */
     private void showAddToQueueDialog() {
         String[] options = {
             "Ajouter après la piste en cours",
-            "Ajouter à la fin de la file",
-            "Ajouter une liste de pistes"
+            "Ajouter à la fin de la file"
         };
 
         new AlertDialog.Builder(this)
             .setTitle("Ajouter à la file d'attente")
             .setItems(options, (dialog, which) -> {
-                switch (which) {
-                    case 0:
-                        // Ajouter après la piste en cours
-                        Intent intent = new Intent(this, TrackSelectionActivity.class);
-                        intent.putExtra("addAfterCurrent", true);
-                        startActivityForResult(intent, REQUEST_ADD_TO_QUEUE);
-                        break;
-                    case 1:
-                        // Ajouter à la fin de la file
-                        intent = new Intent(this, TrackSelectionActivity.class);
-                        intent.putExtra("addAfterCurrent", false);
-                        startActivityForResult(intent, REQUEST_ADD_TO_QUEUE);
-                        break;
-                    case 2:
-                        // Ajouter une liste de pistes
-                        showAddTracksDialog();
-                        break;
-                }
+                Intent intent = new Intent(this, TrackSelectionActivity.class);
+                intent.putExtra(TrackSelectionActivity.EXTRA_ADD_AFTER_CURRENT, which == 0);
+                startActivityForResult(intent, REQUEST_ADD_TO_QUEUE);
             })
             .show();
     }
 
-    /**
-     * Affiche la boîte de dialogue de sélection des pistes
-     * Permet à l'utilisateur de choisir des pistes à ajouter
-     */
-    private void showAddTracksDialog() {
-        // Récupérer toutes les pistes disponibles
-        List<Track> allTracks = MusicPlayerState.getInstance().getTrackList();
-        
-        // Créer un adaptateur pour la sélection multiple
-        boolean[] checkedTracks = new boolean[allTracks.size()];
-        String[] trackNames = new String[allTracks.size()];
-        
-        for (int i = 0; i < allTracks.size(); i++) {
-            Track track = allTracks.get(i);
-            trackNames[i] = track.title + " - " + track.artist;
-        }
-
-        new AlertDialog.Builder(this)
-            .setTitle("Sélectionner les pistes à ajouter")
-            .setMultiChoiceItems(trackNames, checkedTracks, null)
-            .setPositiveButton("Ajouter", (dialog, which) -> {
-                List<Track> selectedTracks = new ArrayList<>();
-                for (int i = 0; i < checkedTracks.length; i++) {
-                    if (checkedTracks[i]) {
-                        selectedTracks.add(allTracks.get(i));
-                    }
-                }
-                
-                if (!selectedTracks.isEmpty()) {
-                    queueManager.addTracksToQueue(selectedTracks);
-                    updateQueueUI();
-                    Toast.makeText(this, 
-                        selectedTracks.size() + " piste(s) ajoutée(s) à la file d'attente", 
-                        Toast.LENGTH_SHORT).show();
-                }
-            })
-            .setNegativeButton("Annuler", null)
-            .show();
-    }
-
     @Override
     protected void onActivityResult(int requestCode, int resultCode, @Nullable Intent data) {
         super.onActivityResult(requestCode, resultCode, data);
         
         if (requestCode == REQUEST_ADD_TO_QUEUE && resultCode == RESULT_OK && data != null) {
-            Track selectedTrack = data.getParcelableExtra("selected_track");
-            boolean addAfterCurrent = data.getBooleanExtra("addAfterCurrent", false);
-            
-            if (selectedTrack != null) {
-                if (addAfterCurrent) {
-                    queueManager.addAfterCurrent(selectedTrack);
-                } else {
-                    queueManager.addToQueue(selectedTrack);
-                }
-                updateQueueUI();
-                Toast.makeText(this, "Piste ajoutée à la file d'attente", Toast.LENGTH_SHORT).show();
+            int[] ordinals = data.getIntArrayExtra(TrackSelectionActivity.EXTRA_SELECTED_ORDINALS);
+            boolean addAfterCurrent = data.getBooleanExtra(TrackSelectionActivity.EXTRA_ADD_AFTER_CURRENT, false);
+            TrackCatalog catalog = TrackCatalog.getInstance();
+            if (ordinals == null || ordinals.length == 0) {
+                return; // Rien de choisi
+            }
+            if (data.getIntExtra(TrackSelectionActivity.EXTRA_CATALOG_VERSION, -1) != catalog.getVersion()) {
+                // Catalogue rechargé entre-temps : les positions ne désignent plus les mêmes pistes
+                Toast.makeText(this,
+                    "Le catalogue a été mis à jour, veuillez refaire votre sélection",
+                    Toast.LENGTH_LONG).show();
+                return;
+            }
+
+            List<Track> catalogTracks = catalog.getTracks();
+            List<Track> selectedTracks = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                selectedTracks.add(catalogTracks.get(ordinal));
             }
+            if (addAfterCurrent) {
+                queueManager.addTracksAfterCurrent(selectedTracks);
+            } else {
+                queueManager.addTracksToQueue(selectedTracks);
+            }
+            updateQueueUI();
+            Toast.makeText(this,
+                selectedTracks.size() + " piste(s) ajoutée(s) à la file d'attente",
+                Toast.LENGTH_SHORT).show();
         }
     }
 
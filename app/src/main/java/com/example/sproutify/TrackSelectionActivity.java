@@ -3,31 +3,54 @@ package com.example.sproutify;
 import android.content.Intent;
 import android.os.Bundle;
 import android.view.MenuItem;
+import android.view.View;
+import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.sproutify.data.MusicPlayerState;
+import com.example.sproutify.data.IntList;
+import com.example.sproutify.data.SearchIndex;
+import com.example.sproutify.data.TrackCatalog;
 import com.example.sproutify.model.Track;
-import com.example.sproutify.ui.TrackAdapter;
+import com.example.sproutify.ui.TrackPickerAdapter;
+import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
 
 import java.util.List;
 
 /**
- * Activité de sélection de piste
- * Permet à l'utilisateur de sélectionner une piste à ajouter à la file d'attente
- * ou à jouer immédiatement
+ * Activité de sélection de pistes
+ * Permet à l'utilisateur de choisir plusieurs pistes du catalogue, avec recherche,
+ * pour les ajouter à la file d'attente.
+ * La liste lit directement le catalogue et son index de recherche : l'ouverture ne prépare
+ * aucune ligne, quel que soit le nombre de morceaux.
  */
-public class TrackSelectionActivity extends AppCompatActivity implements TrackAdapter.OnTrackClickListener {
+public class TrackSelectionActivity extends AppCompatActivity
+        implements TrackPickerAdapter.OnSelectionChangedListener, TrackCatalog.OnIndexReadyListener {
+    /** Extra (booléen) : ajouter après la piste en cours plutôt qu'en fin de file */
+    public static final String EXTRA_ADD_AFTER_CURRENT = "addAfterCurrent";
+    /** Extra du résultat (int[]) : positions des pistes choisies dans le catalogue */
+    public static final String EXTRA_SELECTED_ORDINALS = "selected_ordinals";
+    /** Extra du résultat (int) : version du catalogue à laquelle se rapportent les positions */
+    public static final String EXTRA_CATALOG_VERSION = "catalog_version";
+    private static final String STATE_QUERY = "query";
+
     private RecyclerView recyclerView;
-    private TrackAdapter adapter;
+    private TextView emptyView;
+    private ExtendedFloatingActionButton confirmButton;
+    private TrackPickerAdapter adapter;
     private List<Track> allTracks;
+    private int catalogVersion;
+    private String currentQuery = "";
+    /** Vrai si la recherche affichée vient de l'index (ou n'en a pas besoin) */
+    private boolean searchIndexed;
 
     /**
      * Initialise l'activité de sélection
-     * Configure la toolbar et la liste des pistes disponibles
+     * Configure la toolbar, la recherche et la liste des pistes du catalogue
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -38,28 +61,166 @@ public class TrackSelectionActivity extends AppCompatActivity implements TrackAd
         Toolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
         getSupportActionBar().setDisplayHomeAsUpEnabled(true);
-        getSupportActionBar().setTitle("Sélectionner une piste");
+        getSupportActionBar().setTitle("Sélectionner des pistes");
 
-        // Récupération de toutes les pistes
-        allTracks = MusicPlayerState.getInstance().getTrackList();
+        emptyView = findViewById(R.id.emptyView);
+        confirmButton = findViewById(R.id.confirmButton);
+        confirmButton.setOnClickListener(v -> confirmSelection());
 
         // Configuration du RecyclerView
         recyclerView = findViewById(R.id.tracksRecyclerView);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        
-        adapter = new TrackAdapter(this, allTracks, this, null);
+        adapter = new TrackPickerAdapter(this);
         recyclerView.setAdapter(adapter);
+
+        TrackCatalog catalog = TrackCatalog.getInstance();
+        allTracks = catalog.getTracks();
+        catalogVersion = catalog.getVersion();
+        adapter.setTracks(allTracks);
+
+        if (savedInstanceState != null
+                && savedInstanceState.getInt(EXTRA_CATALOG_VERSION, -1) == catalogVersion) {
+            currentQuery = savedInstanceState.getString(STATE_QUERY, "");
+            int[] selection = savedInstanceState.getIntArray(EXTRA_SELECTED_ORDINALS);
+            if (selection != null) {
+                adapter.setSelectedOrdinals(selection);
+            }
+        }
+
+        SearchView searchView = findViewById(R.id.searchView);
+        searchView.setQuery(currentQuery, false);
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                currentQuery = newText;
+                applySearch(true);
+                return true;
+            }
+        });
+        applySearch(false);
+        catalog.addOnIndexReadyListener(this);
+    }
+
+    @Override
+    protected void onDestroy() {
+        TrackCatalog.getInstance().removeOnIndexReadyListener(this);
+        super.onDestroy();
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putString(STATE_QUERY, currentQuery);
+        outState.putInt(EXTRA_CATALOG_VERSION, catalogVersion);
+        outState.putIntArray(EXTRA_SELECTED_ORDINALS, adapter.getSelectedOrdinals());
     }
 
     /**
-     * Gère le clic sur une piste dans la liste
-     * Retourne la piste sélectionnée à l'activité appelante
+     * Appelé quand un index du catalogue devient disponible. La liste repart du nouveau
+     * catalogue s'il a été rechargé ; sinon la recherche en cours n'est relancée que si elle
+     * avait été faite par parcours et que l'index de recherche vient d'arriver. La position
+     * de défilement est conservée.
      */
     @Override
-    public void onTrackClick(Track track, int position) {
+    public void onIndexReady(TrackCatalog catalog) {
+        if (catalog.getVersion() != catalogVersion) {
+            allTracks = catalog.getTracks();
+            catalogVersion = catalog.getVersion();
+            adapter.setTracks(allTracks);
+            applySearch(true);
+        } else if (!searchIndexed && isSearchIndexReady()) {
+            applySearch(false);
+        }
+    }
+
+    /**
+     * @return true si l'index de recherche couvre le catalogue affiché
+     */
+    private boolean isSearchIndexReady() {
+        SearchIndex searchIndex = TrackCatalog.getInstance().getSearchIndex();
+        return searchIndex != null && searchIndex.getDocCount() == allTracks.size();
+    }
+
+    /**
+     * Affiche les pistes correspondant à la recherche en cours.
+     * Sans recherche, la liste couvre le catalogue entier sans rien copier ; sinon les
+     * positions viennent de l'index de recherche classée, ou d'un simple parcours tant
+     * qu'il est en construction.
+     *
+     * @param scrollToTop true si la recherche a changé : la liste revient alors en haut
+     */
+    private void applySearch(boolean scrollToTop) {
+        String query = currentQuery.trim();
+        int[] ordinals;
+        if (query.isEmpty()) {
+            ordinals = null;
+            searchIndexed = true;
+        } else if (isSearchIndexReady()) {
+            ordinals = TrackCatalog.getInstance().getSearchIndex().search(currentQuery,
+                    SearchIndex.ALL_FIELDS, SearchIndex.DEFAULT_TOP_K);
+            searchIndexed = true;
+        } else {
+            ordinals = scan(query.toLowerCase());
+            searchIndexed = false;
+        }
+        adapter.setOrdinals(ordinals);
+        if (scrollToTop) {
+            recyclerView.scrollToPosition(0);
+        }
+
+        boolean empty = adapter.getItemCount() == 0;
+        emptyView.setText(allTracks.isEmpty() ? "Aucun morceau disponible" : "Aucun morceau trouvé");
+        emptyView.setVisibility(empty ? View.VISIBLE : View.GONE);
+        recyclerView.setVisibility(empty ? View.GONE : View.VISIBLE);
+    }
+
+    /**
+     * Recherche par parcours du catalogue, utilisée tant que l'index n'est pas prêt.
+     *
+     * @param query Recherche en minuscules
+     * @return Positions des pistes dont le titre, l'artiste ou l'album contient la recherche
+     */
+    private int[] scan(String query) {
+        IntList result = new IntList(16);
+        for (int ordinal = 0; ordinal < allTracks.size(); ordinal++) {
+            Track track = allTracks.get(ordinal);
+            if (track.title.toLowerCase().contains(query)
+                    || track.artist.toLowerCase().contains(query)
+                    || track.album.toLowerCase().contains(query)) {
+                result.add(ordinal);
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Met à jour le bouton de validation selon le nombre de pistes choisies.
+     */
+    @Override
+    public void onSelectionChanged(int count) {
+        if (count == 0) {
+            confirmButton.setVisibility(View.GONE);
+        } else {
+            confirmButton.setText("Ajouter (" + count + ")");
+            confirmButton.setVisibility(View.VISIBLE);
+        }
+    }
+
+    /**
+     * Retourne les positions des pistes choisies à l'activité appelante
+     */
+    private void confirmSelection() {
         Intent resultIntent = new Intent();
-        resultIntent.putExtra("selected_track", track);
-        resultIntent.putExtra("addAfterCurrent", getIntent().getBooleanExtra("addAfterCurrent", false));
+        resultIntent.putExtra(EXTRA_SELECTED_ORDINALS, adapter.getSelectedOrdinals());
+        resultIntent.putExtra(EXTRA_CATALOG_VERSION, catalogVersion);
+        resultIntent.putExtra(EXTRA_ADD_AFTER_CURRENT,
+                getIntent().getBooleanExtra(EXTRA_ADD_AFTER_CURRENT, false));
         setResult(RESULT_OK, resultIntent);
         finish();
     }
@@ -76,4 +237,4 @@ public class TrackSelectionActivity extends AppCompatActivity implements TrackAd
         }
         return super.onOptionsItemSelected(item);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.example.sproutify.data;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Réserve de bitmaps modifiables réutilisés comme tampon de décodage (BitmapFactory.Options.inBitmap).
+ * Les bitmaps sont rangés par taille d'allocation : une demande reçoit le plus petit
+ * bitmap assez grand, dans la limite du double de la taille demandée pour ne pas
+ * gaspiller un grand tampon sur une petite image. Partagée entre les threads de décodage.
+ */
+final class BitmapPool {
+    private final long maxBytes;
+    private final TreeMap<Integer, ArrayDeque<Bitmap>> bySize = new TreeMap<>();
+    private long bytes;
+
+    /**
+     * @param maxBytes Taille totale maximale des bitmaps conservés
+     */
+    BitmapPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Retire de la réserve un bitmap pouvant recevoir au moins {@code minBytes} octets.
+     *
+     * @param minBytes Taille minimale de l'allocation
+     * @return Bitmap réutilisable, null si aucun ne convient
+     */
+    synchronized Bitmap get(int minBytes) {
+        Map.Entry<Integer, ArrayDeque<Bitmap>> entry = bySize.ceilingEntry(minBytes);
+        if (entry == null || entry.getKey() > 2L * minBytes) {
+            return null;
+        }
+        ArrayDeque<Bitmap> bucket = entry.getValue();
+        Bitmap bitmap = bucket.pop();
+        if (bucket.isEmpty()) {
+            bySize.remove(entry.getKey());
+        }
+        bytes -= entry.getKey();
+        return bitmap;
+    }
+
+    /**
+     * Rend un bitmap à la réserve. Seuls les bitmaps logiciels modifiables sont conservés ;
+     * les plus gros sont abandonnés en premier quand la réserve est pleine.
+     *
+     * @param bitmap Bitmap qui n'est plus affiché nulle part
+     */
+    synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()
+                || bitmap.getConfig() != Bitmap.Config.ARGB_8888) {
+            return;
+        }
+        int size = bitmap.getAllocationByteCount();
+        if (size > maxBytes) {
+            return;
+        }
+        bySize.computeIfAbsent(size, k -> new ArrayDeque<>()).push(bitmap);
+        bytes += size;
+        while (bytes > maxBytes) {
+            Map.Entry<Integer, ArrayDeque<Bitmap>> largest = bySize.lastEntry();
+            largest.getValue().pop();
+            if (largest.getValue().isEmpty()) {
+                bySize.remove(largest.getKey());
+            }
+            bytes -= largest.getKey();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.sproutify.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+
+import com.example.sproutify.model.Track;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Couleur dominante des pochettes, pour teinter le lecteur et le mini lecteur (pattern Singleton).
+ * La couleur est extraite une seule fois par morceau, en arrière-plan, d'une copie réduite
+ * de la pochette déjà décodée par l'ImageLoader, puis conservée par identifiant stable
+ * du morceau en mémoire et dans les SharedPreferences : revenir sur un morceau ou ouvrir
+ * le mini lecteur ne la recalcule pas.
+ * L'identifiant stable dépend de la position du morceau dans le CSV : chaque couleur est donc
+ * conservée avec l'empreinte de l'URL de sa pochette, et ignorée si celle du morceau diffère.
+ * Toutes les méthodes publiques s'appellent depuis le thread principal.
+ */
+public final class CoverPalette {
+    private static final String TAG = "CoverPalette";
+    private static final String PREFS_NAME = "cover_palette_v2";
+    /** Valeur retournée quand la couleur d'un morceau n'est pas connue (transparent) */
+    public static final int NO_COLOR = 0;
+    /** Côté de la copie réduite analysée, en pixels */
+    private static final int SAMPLE_SIZE = 32;
+    /** Couleurs gardées en mémoire */
+    private static final int MEMORY_ENTRIES = 128;
+    /** Écart minimal entre composantes pour qu'un pixel compte comme coloré */
+    private static final int MIN_CHROMA = 40;
+    /** Poids d'un pixel coloré par rapport à un pixel gris, noir ou blanc */
+    private static final int CHROMA_WEIGHT = 4;
+
+    private static CoverPalette instance;
+
+    private final SharedPreferences preferences;
+    /** Entrées par identifiant stable : empreinte de l'URL (32 bits hauts) et couleur (32 bits bas) */
+    private final LruCache<Long, Long> memoryCache = new LruCache<>(MEMORY_ENTRIES);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    /** Extractions en cours par morceau, avec les listeners qui les attendent */
+    private final Map<Long, List<OnColorListener>> pending = new HashMap<>();
+
+    /**
+     * Interface notifiée de la couleur dominante d'un morceau.
+     */
+    public interface OnColorListener {
+        /**
+         * Appelé sur le thread principal.
+         * @param track Morceau concerné (peut ne plus être celui affiché)
+         * @param color Couleur dominante opaque
+         */
+        void onColor(Track track, int color);
+    }
+
+    private CoverPalette(Context context) {
+        preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Obtient l'instance unique des couleurs de pochettes
+     * @param context Contexte (seul le contexte de l'application est conservé)
+     * @return Instance unique de CoverPalette
+     */
+    public static synchronized CoverPalette getInstance(Context context) {
+        if (instance == null) {
+            instance = new CoverPalette(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Retourne la couleur dominante déjà connue d'un morceau.
+     *
+     * @param track Morceau
+     * @return Couleur en cache, NO_COLOR si elle n'a pas encore été extraite
+     */
+    public int getColor(Track track) {
+        long id = track.getStableId();
+        int coverHash = coverHash(track);
+        Long entry = memoryCache.get(id);
+        if (entry == null) {
+            long stored = preferences.getLong(Long.toString(id), 0L);
+            if (stored == 0L) {
+                return NO_COLOR;
+            }
+            entry = stored;
+            memoryCache.put(id, entry);
+        }
+        // Couleur d'une autre pochette (catalogue réordonné ou pochette changée)
+        return (int) (entry >>> 32) == coverHash ? (int) (long) entry : NO_COLOR;
+    }
+
+    /**
+     * Empreinte de l'URL de la pochette d'un morceau, conservée avec sa couleur.
+     */
+    private static int coverHash(Track track) {
+        return track.coverUrl != null ? track.coverUrl.hashCode() : 0;
+    }
+
+    /**
+     * Affiche la pochette d'un morceau et fournit sa couleur dominante : immédiatement
+     * si elle est en cache, sinon après extraction sur l'image une fois affichée.
+     *
+     * @param track Morceau
+     * @param view Vue de la pochette
+     * @param placeholder Image affichée en attendant la pochette
+     * @param listener Listener notifié de la couleur
+     */
+    public void loadCover(Track track, ImageView view, @DrawableRes int placeholder, OnColorListener listener) {
+        ImageLoader loader = ImageLoader.getInstance(view.getContext());
+        int color = getColor(track);
+        if (color != NO_COLOR) {
+            loader.load(track.coverUrl, view, placeholder);
+            listener.onColor(track, color);
+        } else {
+            loader.load(track.coverUrl, view, placeholder, bitmap -> extract(track, bitmap, listener));
+        }
+    }
+
+    /**
+     * Extrait en arrière-plan la couleur dominante d'une pochette décodée et la met en cache.
+     *
+     * @param track Morceau de la pochette
+     * @param bitmap Pochette telle qu'affichée (non modifiée)
+     * @param listener Listener notifié de la couleur
+     */
+    public void extract(Track track, Bitmap bitmap, OnColorListener listener) {
+        long id = track.getStableId();
+        int known = getColor(track);
+        if (known != NO_COLOR) {
+            listener.onColor(track, known);
+            return;
+        }
+        List<OnColorListener> waiting = pending.get(id);
+        if (waiting != null) {
+            waiting.add(listener);
+            return;
+        }
+        waiting = new ArrayList<>(1);
+        waiting.add(listener);
+        pending.put(id, waiting);
+        executor.execute(() -> {
+            int color = NO_COLOR;
+            try {
+                color = dominantColor(downsample(bitmap));
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Extraction impossible pour " + track.title, e);
+            }
+            int result = color;
+            mainHandler.post(() -> deliver(track, result));
+        });
+    }
+
+    private void deliver(Track track, int color) {
+        long id = track.getStableId();
+        List<OnColorListener> waiting = pending.remove(id);
+        if (color == NO_COLOR || waiting == null) {
+            return;
+        }
+        long entry = (long) coverHash(track) << 32 | (color & 0xFFFFFFFFL);
+        memoryCache.put(id, entry);
+        preferences.edit().putLong(Long.toString(id), entry).apply();
+        for (OnColorListener listener : waiting) {
+            listener.onColor(track, color);
+        }
+    }
+
+    /**
+     * Copie réduite et lisible de la pochette (une image HARDWARE est d'abord relue en mémoire).
+     */
+    private static Bitmap downsample(Bitmap bitmap) {
+        Bitmap source = bitmap;
+        if (bitmap.getConfig() == Bitmap.Config.HARDWARE) {
+            source = bitmap.copy(Bitmap.Config.ARGB_8888, false);
+        }
+        Bitmap small = Bitmap.createScaledBitmap(source, SAMPLE_SIZE, SAMPLE_SIZE, true);
+        if (source != bitmap && source != small) {
+            source.recycle();
+        }
+        return small;
+    }
+
+    /**
+     * Couleur dominante : moyenne des pixels du groupe de couleurs (4 bits par composante)
+     * le plus représenté, les pixels colorés comptant davantage que les gris.
+     */
+    private static int dominantColor(Bitmap small) {
+        int width = small.getWidth();
+        int height = small.getHeight();
+        int[] pixels = new int[width * height];
+        small.getPixels(pixels, 0, width, 0, 0, width, height);
+
+        int[] weights = new int[4096];
+        int[] sums = new int[4096 * 3];
+        int best = -1;
+        for (int pixel : pixels) {
+            if ((pixel >>> 24) < 128) {
+                continue; // Pixel transparent
+            }
+            int r = (pixel >> 16) & 0xFF;
+            int g = (pixel >> 8) & 0xFF;
+            int b = pixel & 0xFF;
+            int chroma = Math.max(r, Math.max(g, b)) - Math.min(r, Math.min(g, b));
+            int weight = chroma >= MIN_CHROMA ? CHROMA_WEIGHT : 1;
+            int bucket = (r >> 4) << 8 | (g >> 4) << 4 | (b >> 4);
+            weights[bucket] += weight;
+            sums[bucket * 3] += r * weight;
+            sums[bucket * 3 + 1] += g * weight;
+            sums[bucket * 3 + 2] += b * weight;
+            if (best < 0 || weights[bucket] > weights[best]) {
+                best = bucket;
+            }
+        }
+        if (best < 0) {
+            return NO_COLOR;
+        }
+        int weight = weights[best];
+        return 0xFF000000 | (sums[best * 3] / weight) << 16
+                | (sums[best * 3 + 1] / weight) << 8 | (sums[best * 3 + 2] / weight);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.sproutify.data;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signatures de couleur des pochettes : pour chaque URL, la couleur moyenne des quatre
+ * quarts de l'image (2x2 pixels). Calculées une seule fois, au premier décodage de la
+ * pochette, et enregistrées à côté du catalogue ; elles permettent d'afficher un dégradé
+ * proche de la pochette sans aucune lecture disque ni réseau en attendant l'image.
+ */
+public final class CoverSignatures {
+    private static final String TAG = "CoverSignatures";
+    private static final int MAGIC = 0x53494731; // "SIG1"
+    /** Délai avant l'écriture des nouvelles signatures, pour les regrouper */
+    private static final long SAVE_DELAY_MS = 2000;
+    /** Pixels échantillonnés par côté dans chaque quart de l'image */
+    private static final int SAMPLES = 4;
+
+    private final Map<String, int[]> signatures = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ioExecutor = Executors.newSingleThreadScheduledExecutor();
+    private volatile File file;
+    private boolean saveScheduled;
+
+    /**
+     * Définit le fichier des signatures et le relit en arrière-plan.
+     * @param file Fichier des signatures dans le répertoire du catalogue
+     */
+    void init(File file) {
+        this.file = file;
+        ioExecutor.execute(this::load);
+    }
+
+    /**
+     * Retourne la signature d'une pochette.
+     * @param url URL de la pochette
+     * @return Couleurs ARGB des quarts haut-gauche, haut-droit, bas-gauche, bas-droit, ou null
+     */
+    public int[] get(String url) {
+        return url != null ? signatures.get(url) : null;
+    }
+
+    /**
+     * Calcule et enregistre la signature d'une pochette si elle n'est pas encore connue.
+     * Appelé depuis un thread de décodage, avec une image logicielle (pixels lisibles).
+     * @param url URL de la pochette
+     * @param bitmap Image décodée
+     */
+    public void record(String url, Bitmap bitmap) {
+        if (url == null || signatures.containsKey(url)
+                || bitmap.getConfig() == Bitmap.Config.HARDWARE) {
+            return;
+        }
+        signatures.put(url, compute(bitmap));
+        scheduleSave();
+    }
+
+    /**
+     * Moyenne de chaque quart de l'image sur une grille de SAMPLES x SAMPLES pixels.
+     */
+    private static int[] compute(Bitmap bitmap) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        int[] result = new int[4];
+        for (int quarter = 0; quarter < 4; quarter++) {
+            int left = (quarter % 2) * width / 2;
+            int top = (quarter / 2) * height / 2;
+            int a = 0, r = 0, g = 0, b = 0;
+            for (int i = 0; i < SAMPLES; i++) {
+                for (int j = 0; j < SAMPLES; j++) {
+                    int x = Math.min(width - 1, left + (2 * j + 1) * width / (4 * SAMPLES));
+                    int y = Math.min(height - 1, top + (2 * i + 1) * height / (4 * SAMPLES));
+                    int pixel = bitmap.getPixel(x, y);
+                    a += pixel >>> 24;
+                    r += (pixel >> 16) & 0xFF;
+                    g += (pixel >> 8) & 0xFF;
+                    b += pixel & 0xFF;
+                }
+            }
+            int n = SAMPLES * SAMPLES;
+            result[quarter] = (a / n) << 24 | (r / n) << 16 | (g / n) << 8 | (b / n);
+        }
+        return result;
+    }
+
+    private synchronized void scheduleSave() {
+        if (file != null && !saveScheduled) {
+            saveScheduled = true;
+            ioExecutor.schedule(this::save, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Relit les signatures enregistrées ; un fichier illisible est supprimé.
+     */
+    private void load() {
+        File source = file;
+        if (source == null || !source.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Format inconnu");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String url = in.readUTF();
+                int[] signature = new int[4];
+                for (int k = 0; k < 4; k++) {
+                    signature[k] = in.readInt();
+                }
+                signatures.putIfAbsent(url, signature);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Signatures illisibles, elles seront recalculées", e);
+            source.delete();
+        }
+    }
+
+    /**
+     * Écrit toutes les signatures (fichier temporaire puis renommage).
+     */
+    private void save() {
+        synchronized (this) {
+            saveScheduled = false;
+        }
+        File target = file;
+        File dir = target.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            return;
+        }
+        File tmp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            Map<String, int[]> snapshot = new HashMap<>(signatures);
+            out.writeInt(MAGIC);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, int[]> entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey());
+                for (int color : entry.getValue()) {
+                    out.writeInt(color);
+                }
+            }
+            out.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "Erreur lors de l'écriture des signatures", e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(target)) {
+            tmp.delete();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moteur de filtres combinés (facettes) sur le catalogue.
+ * Une sélection est évaluée mot à mot sur des ensembles de bits couvrant les positions
+ * des morceaux : OU entre les valeurs d'une même facette, ET entre les facettes et les favoris.
+ * Seules les décennies, peu nombreuses, gardent un ensemble de bits par valeur ; les artistes
+ * et albums (des dizaines de milliers de valeurs sur un grand catalogue) sont lus dans les
+ * listes de positions des index de regroupement et ajoutés à l'union au moment de l'évaluation.
+ * Construit une fois par version du catalogue.
+ */
+public final class FacetEngine {
+    /** Facette des artistes (identifiants de l'index des artistes) */
+    public static final int FACET_ARTIST = 0;
+    /** Facette des albums (identifiants de l'index des albums) */
+    public static final int FACET_ALBUM = 1;
+    /** Facette des décennies de sortie */
+    public static final int FACET_YEAR = 2;
+    /** Nombre de facettes */
+    public static final int FACET_COUNT = 3;
+
+    /**
+     * Sélection de valeurs de facettes, immuable.
+     * Sert aussi de clé de cache : deux sélections identiques sont égales.
+     */
+    public static final class Selection {
+        /** Sélection vide : aucun filtre */
+        public static final Selection EMPTY = new Selection(new int[FACET_COUNT][0], false);
+
+        private final int[][] values;
+        private final boolean favoritesOnly;
+
+        private Selection(int[][] values, boolean favoritesOnly) {
+            this.values = values;
+            this.favoritesOnly = favoritesOnly;
+        }
+
+        /**
+         * Retourne une copie de la sélection avec une valeur ajoutée ou retirée.
+         *
+         * @param facet Facette (FACET_*)
+         * @param value Valeur de la facette
+         * @param selected true pour ajouter la valeur, false pour la retirer
+         * @return Nouvelle sélection
+         */
+        public Selection with(int facet, int value, boolean selected) {
+            if (isSelected(facet, value) == selected) {
+                return this;
+            }
+            int[][] copy = values.clone();
+            int[] current = values[facet];
+            if (selected) {
+                int[] added = Arrays.copyOf(current, current.length + 1);
+                added[current.length] = value;
+                Arrays.sort(added);
+                copy[facet] = added;
+            } else {
+                int[] removed = new int[current.length - 1];
+                int i = 0;
+                for (int v : current) {
+                    if (v != value) {
+                        removed[i++] = v;
+                    }
+                }
+                copy[facet] = removed;
+            }
+            return new Selection(copy, favoritesOnly);
+        }
+
+        /**
+         * Retourne une copie de la sélection avec le filtre des favoris modifié.
+         *
+         * @param favoritesOnly true pour ne garder que les favoris
+         * @return Nouvelle sélection
+         */
+        public Selection withFavoritesOnly(boolean favoritesOnly) {
+            return favoritesOnly == this.favoritesOnly ? this : new Selection(values, favoritesOnly);
+        }
+
+        /**
+         * Indique si une valeur est sélectionnée.
+         *
+         * @param facet Facette (FACET_*)
+         * @param value Valeur de la facette
+         * @return true si la valeur fait partie de la sélection
+         */
+        public boolean isSelected(int facet, int value) {
+            return Arrays.binarySearch(values[facet], value) >= 0;
+        }
+
+        /**
+         * Indique si seuls les favoris sont retenus.
+         *
+         * @return true si le filtre des favoris est actif
+         */
+        public boolean isFavoritesOnly() {
+            return favoritesOnly;
+        }
+
+        /**
+         * Retourne le nombre de critères actifs (valeurs sélectionnées et favoris).
+         *
+         * @return Nombre de critères
+         */
+        public int size() {
+            int count = favoritesOnly ? 1 : 0;
+            for (int[] facetValues : values) {
+                count += facetValues.length;
+            }
+            return count;
+        }
+
+        /**
+         * Indique si la sélection ne filtre rien.
+         *
+         * @return true si aucun critère n'est actif
+         */
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Selection)) return false;
+            Selection other = (Selection) o;
+            return favoritesOnly == other.favoritesOnly && Arrays.deepEquals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.deepHashCode(values) + (favoritesOnly ? 1 : 0);
+        }
+    }
+
+    private final List<Track> tracks;
+    private final int words;
+    /** Masque de tous les morceaux du catalogue */
+    private final long[] allBits;
+    /** valueOf[facette][position] = valeur du morceau, -1 s'il n'en a pas */
+    private final int[][] valueOf;
+    /** Index de regroupement des artistes et des albums, indicés par facette */
+    private final GroupIndex[] groups;
+    /** Ensemble des positions des morceaux de chaque décennie */
+    private final long[][] decadeBits;
+    private final String[] decadeLabels;
+
+    private long[] favoritesBits;
+    private int favoritesVersion = -1;
+
+    private FacetEngine(List<Track> tracks, int[][] valueOf, GroupIndex[] groups,
+                        long[][] decadeBits, String[] decadeLabels) {
+        this.tracks = tracks;
+        this.words = (tracks.size() + 63) >>> 6;
+        this.valueOf = valueOf;
+        this.groups = groups;
+        this.decadeBits = decadeBits;
+        this.decadeLabels = decadeLabels;
+        this.allBits = new long[words];
+        for (int ordinal = 0; ordinal < tracks.size(); ordinal++) {
+            allBits[ordinal >>> 6] |= 1L << ordinal;
+        }
+    }
+
+    /**
+     * Construit le moteur : valeur de chaque morceau pour chaque facette et ensembles
+     * de bits des décennies. Les artistes et albums reprennent les identifiants
+     * des index de regroupement.
+     *
+     * @param tracks Morceaux du catalogue, dans l'ordre du catalogue
+     * @param artists Index des artistes de la même version du catalogue
+     * @param albums Index des albums de la même version du catalogue
+     * @return Moteur prêt à évaluer des sélections
+     */
+    public static FacetEngine build(List<Track> tracks, GroupIndex artists, GroupIndex albums) {
+        int n = tracks.size();
+        int words = (n + 63) >>> 6;
+        int[][] valueOf = new int[FACET_COUNT][n];
+
+        GroupIndex[] groups = { artists, albums };
+        for (int facet = FACET_ARTIST; facet <= FACET_ALBUM; facet++) {
+            GroupIndex group = groups[facet];
+            for (int ordinal = 0; ordinal < n; ordinal++) {
+                valueOf[facet][ordinal] = group.getGroupOf(ordinal);
+            }
+        }
+
+        // Décennies, de la plus récente à la plus ancienne ; les années inconnues en dernier
+        int[] decades = new int[n];
+        int minDecade = Integer.MAX_VALUE;
+        int maxDecade = Integer.MIN_VALUE;
+        boolean unknown = false;
+        for (int ordinal = 0; ordinal < n; ordinal++) {
+            int year = tracks.get(ordinal).getYear();
+            decades[ordinal] = year > 0 ? year / 10 : -1;
+            if (year > 0) {
+                minDecade = Math.min(minDecade, decades[ordinal]);
+                maxDecade = Math.max(maxDecade, decades[ordinal]);
+            } else {
+                unknown = true;
+            }
+        }
+        // Seules les décennies présentes dans le catalogue deviennent des valeurs
+        int[] bucketOfDecade = new int[maxDecade >= minDecade ? maxDecade - minDecade + 1 : 0];
+        Arrays.fill(bucketOfDecade, -1);
+        for (int decade : decades) {
+            if (decade >= 0) {
+                bucketOfDecade[maxDecade - decade] = 0;
+            }
+        }
+        int known = 0;
+        for (int i = 0; i < bucketOfDecade.length; i++) {
+            if (bucketOfDecade[i] == 0) {
+                bucketOfDecade[i] = known++;
+            }
+        }
+        int bucketCount = known + (unknown ? 1 : 0);
+        long[][] decadeBits = new long[bucketCount][words];
+        String[] decadeLabels = new String[bucketCount];
+        for (int i = 0; i < bucketOfDecade.length; i++) {
+            if (bucketOfDecade[i] >= 0) {
+                decadeLabels[bucketOfDecade[i]] = "Années " + (maxDecade - i) * 10;
+            }
+        }
+        if (unknown) {
+            decadeLabels[bucketCount - 1] = "Date inconnue";
+        }
+        for (int ordinal = 0; ordinal < n; ordinal++) {
+            int bucket = decades[ordinal] >= 0 ? bucketOfDecade[maxDecade - decades[ordinal]] : bucketCount - 1;
+            valueOf[FACET_YEAR][ordinal] = bucket;
+            decadeBits[bucket][ordinal >>> 6] |= 1L << ordinal;
+        }
+        return new FacetEngine(tracks, valueOf, groups, decadeBits, decadeLabels);
+    }
+
+    /**
+     * Retourne le nombre de valeurs d'une facette.
+     *
+     * @param facet Facette (FACET_*)
+     * @return Nombre de valeurs
+     */
+    public int getValueCount(int facet) {
+        return facet == FACET_YEAR ? decadeLabels.length : groups[facet].size();
+    }
+
+    /**
+     * Retourne le libellé d'une valeur de facette.
+     *
+     * @param facet Facette (FACET_*)
+     * @param value Valeur de la facette
+     * @return Nom de l'artiste ou de l'album, ou libellé de la décennie
+     */
+    public String getValueLabel(int facet, int value) {
+        return facet == FACET_YEAR ? decadeLabels[value] : groups[facet].getName(value);
+    }
+
+    /**
+     * Indique si le libellé d'une valeur contient un texte, sans tenir compte
+     * de la casse ni des accents.
+     *
+     * @param facet Facette (FACET_*)
+     * @param value Valeur de la facette
+     * @param normalizedQuery Texte recherché, déjà normalisé par {@link TextNormalizer}
+     * @return true si le libellé contient le texte
+     */
+    public boolean valueContains(int facet, int value, String normalizedQuery) {
+        if (facet == FACET_YEAR) {
+            return TextNormalizer.normalize(decadeLabels[value]).contains(normalizedQuery);
+        }
+        return groups[facet].nameContains(value, normalizedQuery);
+    }
+
+    /**
+     * Retourne l'ensemble de bits des morceaux favoris, recalculé seulement
+     * quand les favoris ont changé.
+     *
+     * @param favorites Gestionnaire des favoris
+     * @return Ensemble des positions des morceaux favoris
+     */
+    public synchronized long[] getFavoritesBits(FavoritesManager favorites) {
+        if (favoritesBits == null || favoritesVersion != favorites.getVersion()) {
+            long[] result = new long[words];
+            for (int ordinal = 0; ordinal < tracks.size(); ordinal++) {
+                if (favorites.isFavorite(tracks.get(ordinal))) {
+                    result[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+            favoritesBits = result;
+            favoritesVersion = favorites.getVersion();
+        }
+        return favoritesBits;
+    }
+
+    /**
+     * Évalue une sélection.
+     *
+     * @param selection Sélection à évaluer
+     * @param favoritesBits Ensemble des favoris, utilisé si la sélection le demande
+     * @return Ensemble des positions des morceaux retenus
+     */
+    public long[] evaluate(Selection selection, long[] favoritesBits) {
+        return evaluateExcept(selection, favoritesBits, -1);
+    }
+
+    /**
+     * Évalue une sélection en ignorant une facette : base des comptes de cette facette,
+     * pour que cocher une valeur n'annule pas les autres valeurs de la même facette.
+     */
+    private long[] evaluateExcept(Selection selection, long[] favoritesBits, int skippedFacet) {
+        long[] result = allBits.clone();
+        long[] union = new long[words];
+        for (int facet = 0; facet < FACET_COUNT; facet++) {
+            int[] selected = selection.values[facet];
+            if (facet == skippedFacet || selected.length == 0) {
+                continue;
+            }
+            Arrays.fill(union, 0L);
+            for (int value : selected) {
+                if (facet == FACET_YEAR) {
+                    long[] valueBits = decadeBits[value];
+                    for (int w = 0; w < words; w++) {
+                        union[w] |= valueBits[w];
+                    }
+                } else {
+                    for (int ordinal : groups[facet].getOrdinals(value)) {
+                        union[ordinal >>> 6] |= 1L << ordinal;
+                    }
+                }
+            }
+            for (int w = 0; w < words; w++) {
+                result[w] &= union[w];
+            }
+        }
+        if (selection.favoritesOnly && favoritesBits != null) {
+            for (int w = 0; w < words; w++) {
+                result[w] &= favoritesBits[w];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compte, pour chaque valeur d'une facette, les morceaux qui seraient retenus
+     * en cochant cette valeur, compte tenu des autres facettes sélectionnées.
+     *
+     * @param facet Facette (FACET_*)
+     * @param selection Sélection courante
+     * @param favoritesBits Ensemble des favoris, utilisé si la sélection le demande
+     * @return Nombre de morceaux par valeur de la facette
+     */
+    public int[] counts(int facet, Selection selection, long[] favoritesBits) {
+        long[] base = evaluateExcept(selection, favoritesBits, facet);
+        int[] counts = new int[getValueCount(facet)];
+        int[] values = valueOf[facet];
+        for (int w = 0; w < words; w++) {
+            long word = base[w];
+            while (word != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                int value = values[ordinal];
+                if (value >= 0) {
+                    counts[value]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Compte les morceaux d'un ensemble de bits.
+     *
+     * @param set Ensemble de positions
+     * @return Nombre de positions présentes
+     */
+    public static int cardinality(long[] set) {
+        int count = 0;
+        for (long word : set) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Conserve, dans l'ordre reçu, les positions présentes dans un ensemble de bits.
+     *
+     * @param set Ensemble de positions retenues
+     * @param ordinals Positions à filtrer
+     * @return Nouveau tableau des positions retenues
+     */
+    public static int[] retain(long[] set, int[] ordinals) {
+        IntList result = new IntList(Math.min(ordinals.length, 16));
+        for (int ordinal : ordinals) {
+            if ((set[ordinal >>> 6] & (1L << ordinal)) != 0) {
+                result.add(ordinal);
+            }
+        }
+        return result.toArray();
+    }
+}
@@ -27,6 +27,8 @@ public class FavoritesManager {
     private final SharedPreferences sharedPreferences;
     private final Gson gson;
     private final Set<String> favoriteTracks;
+    /** Incrémenté à chaque modification des favoris */
+    private int version = 0;
 
     private static FavoritesManager instance;
 
@@ -66,6 +68,7 @@ public class FavoritesManager {
     public boolean toggleFavorite(Track track) {
         String trackId = track.mp3Url; // Utilisation de l'URL comme identifiant unique
 
+        version++;
         if (favoriteTracks.contains(trackId)) {
             favoriteTracks.remove(trackId);
             saveFavoriteTrackIds();
@@ -87,6 +90,16 @@ public class FavoritesManager {
         return track != null && favoriteTracks.contains(track.mp3Url);
     }
 
+    /**
+     * Retourne la version courante des favoris, qui change à chaque ajout ou retrait.
+     * Permet de savoir si un résultat calculé avec les favoris est toujours valide.
+     * 
+     * @return Numéro de version des favoris
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Filtre une liste de morceaux pour ne conserver que ceux qui sont en favoris.
      * 
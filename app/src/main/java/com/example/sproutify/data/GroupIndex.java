@@ -0,0 +1,192 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index de regroupement des morceaux par valeur d'un champ (artiste ou album).
+ * Chaque valeur distincte reçoit un identifiant de dictionnaire, dans l'ordre de
+ * première apparition dans le catalogue, associé à la liste triée des positions
+ * de ses morceaux, à leur nombre et à leur durée totale.
+ * Construit une fois par version du catalogue.
+ */
+public final class GroupIndex {
+
+    private final List<Track> tracks;
+    private final String[] names;
+    private final String[] normalizedNames;
+    private final int[][] ordinals;
+    private final long[] totalDurationSeconds;
+    private final int[] groupOfTrack;
+    private final Map<String, Integer> idByName;
+
+    private GroupIndex(List<Track> tracks, String[] names, String[] normalizedNames, int[][] ordinals,
+                       long[] totalDurationSeconds, int[] groupOfTrack, Map<String, Integer> idByName) {
+        this.tracks = tracks;
+        this.names = names;
+        this.normalizedNames = normalizedNames;
+        this.ordinals = ordinals;
+        this.totalDurationSeconds = totalDurationSeconds;
+        this.groupOfTrack = groupOfTrack;
+        this.idByName = idByName;
+    }
+
+    /**
+     * Construit l'index pour un champ donné.
+     * Les morceaux dont le champ est vide n'appartiennent à aucun groupe.
+     *
+     * @param tracks Morceaux du catalogue, dans l'ordre du catalogue
+     * @param field Extraction du champ servant au regroupement
+     * @return Index prêt à être interrogé
+     */
+    public static GroupIndex build(List<Track> tracks, Function<Track, String> field) {
+        Map<String, Integer> idByName = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        List<IntList> members = new ArrayList<>();
+        int[] groupOfTrack = new int[tracks.size()];
+
+        for (int ordinal = 0; ordinal < tracks.size(); ordinal++) {
+            String name = field.apply(tracks.get(ordinal));
+            if (name == null || name.isEmpty()) {
+                groupOfTrack[ordinal] = -1;
+                continue;
+            }
+            Integer id = idByName.get(name);
+            if (id == null) {
+                id = names.size();
+                idByName.put(name, id);
+                names.add(name);
+                members.add(new IntList(4));
+            }
+            members.get(id).add(ordinal); // ordinaux ajoutés par ordre croissant
+            groupOfTrack[ordinal] = id;
+        }
+
+        int count = names.size();
+        String[] normalizedNames = new String[count];
+        int[][] ordinals = new int[count][];
+        long[] totalDurationSeconds = new long[count];
+        for (int id = 0; id < count; id++) {
+            normalizedNames[id] = TextNormalizer.normalize(names.get(id));
+            ordinals[id] = members.get(id).toArray();
+            for (int ordinal : ordinals[id]) {
+                totalDurationSeconds[id] += tracks.get(ordinal).getDurationSeconds();
+            }
+        }
+        return new GroupIndex(tracks, names.toArray(new String[0]), normalizedNames, ordinals,
+                totalDurationSeconds, groupOfTrack, idByName);
+    }
+
+    /**
+     * Retourne le nombre de groupes distincts.
+     *
+     * @return Nombre de groupes
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Retourne l'identifiant d'un groupe à partir de son nom.
+     *
+     * @param name Nom exact de l'artiste ou de l'album
+     * @return Identifiant du groupe, -1 s'il n'existe pas
+     */
+    public int getId(String name) {
+        Integer id = idByName.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Retourne l'identifiant du groupe d'un morceau.
+     *
+     * @param ordinal Position du morceau dans le catalogue
+     * @return Identifiant du groupe, -1 si le champ du morceau est vide
+     */
+    public int getGroupOf(int ordinal) {
+        return groupOfTrack[ordinal];
+    }
+
+    /**
+     * Retourne le nom d'un groupe.
+     *
+     * @param id Identifiant du groupe
+     * @return Nom tel qu'il apparaît dans le catalogue
+     */
+    public String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Indique si le nom d'un groupe contient un texte, sans tenir compte
+     * de la casse ni des accents.
+     *
+     * @param id Identifiant du groupe
+     * @param normalizedQuery Texte recherché, déjà normalisé par {@link TextNormalizer}
+     * @return true si le nom contient le texte
+     */
+    public boolean nameContains(int id, String normalizedQuery) {
+        return normalizedNames[id].contains(normalizedQuery);
+    }
+
+    /**
+     * Retourne les positions des morceaux d'un groupe.
+     * Le tableau est partagé et ne doit pas être modifié.
+     *
+     * @param id Identifiant du groupe
+     * @return Positions triées par ordre croissant
+     */
+    public int[] getOrdinals(int id) {
+        return ordinals[id];
+    }
+
+    /**
+     * Retourne le premier morceau d'un groupe, utilisé comme représentant
+     * dans les listes d'artistes et d'albums.
+     *
+     * @param id Identifiant du groupe
+     * @return Premier morceau du groupe dans l'ordre du catalogue
+     */
+    public Track getFirstTrack(int id) {
+        return tracks.get(ordinals[id][0]);
+    }
+
+    /**
+     * Retourne les morceaux d'un groupe dans l'ordre du catalogue.
+     *
+     * @param id Identifiant du groupe
+     * @return Nouvelle liste contenant les morceaux du groupe
+     */
+    public List<Track> getTracks(int id) {
+        List<Track> result = new ArrayList<>(ordinals[id].length);
+        for (int ordinal : ordinals[id]) {
+            result.add(tracks.get(ordinal));
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le nombre de morceaux d'un groupe.
+     *
+     * @param id Identifiant du groupe
+     * @return Nombre de morceaux
+     */
+    public int getCount(int id) {
+        return ordinals[id].length;
+    }
+
+    /**
+     * Retourne la durée cumulée des morceaux d'un groupe.
+     *
+     * @param id Identifiant du groupe
+     * @return Durée totale en secondes
+     */
+    public long getTotalDurationSeconds(int id) {
+        return totalDurationSeconds[id];
+    }
+}
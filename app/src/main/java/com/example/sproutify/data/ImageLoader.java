@@ -0,0 +1,721 @@
+package com.example.sproutify.data;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.pm.ActivityInfo;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+
+import com.example.sproutify.R;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Chargement des pochettes partagé par toute l'application (pattern Singleton).
+ * Une image est téléchargée une seule fois (cache disque dans cacheDir/covers),
+ * décodée à la taille de la vue qui l'affiche (par paliers de {@value #SIZE_STEP} pixels)
+ * une seule fois tant qu'elle reste dans le cache mémoire (borné en octets),
+ * et les demandes simultanées d'une même image partagent le même téléchargement.
+ * Une demande est annulée quand sa vue reçoit une autre image ou quitte la fenêtre,
+ * puis relancée si la vue y revient sans avoir reçu son image.
+ * Les images demandées par une vue passent avant les préchargements ({@link #prefetch}).
+ * Une image est décodée en bitmap HARDWARE si l'activité qui l'affiche est accélérée
+ * matériellement : ce choix est fait une fois par activité, d'après son déclaratif, et fait
+ * partie de la clé des caches et des demandes en cours.
+ * En débogage, le total des octets décodés depuis le lancement, comparé à celui des images
+ * en taille réelle, est écrit régulièrement dans le logcat (tag "ImageLoader").
+ * Toutes les méthodes publiques s'appellent depuis le thread principal.
+ */
+public final class ImageLoader {
+    private static final String TAG = "ImageLoader";
+    private static final String DISK_DIR = "covers";
+    /** Taille maximale du cache disque */
+    private static final long DISK_CACHE_BYTES = 50L * 1024 * 1024;
+    /** Téléchargements et décodages simultanés */
+    private static final int THREADS = 3;
+    /** Pas des tailles de décodage, en pixels : les vues de tailles voisines partagent leurs images */
+    private static final int SIZE_STEP = 64;
+    /** Taille maximale de la réserve de tampons de décodage */
+    private static final long POOL_BYTES = 8L * 1024 * 1024;
+    /** Nombre de pochettes décodées entre deux bilans dans le logcat (débogage) */
+    private static final int REPORT_INTERVAL = 50;
+
+    private static ImageLoader instance;
+
+    private final OkHttpClient client = new OkHttpClient();
+    /** Pool à file de priorité : les demandes des vues passent avant les préchargements */
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS,
+            0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+    private long nextSequence;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, Bitmap> memoryCache;
+    private final File diskDir;
+    private final BitmapPool bitmapPool = new BitmapPool(POOL_BYTES);
+    private final int fallbackSize;
+    private final CoverSignatures signatures = TrackCatalog.getInstance().getCoverSignatures();
+    /** Demandes en cours par clé (thread principal uniquement) */
+    private final Map<String, Job> inFlight = new HashMap<>();
+    /** Accélération matérielle des activités déjà rencontrées (thread principal uniquement) */
+    private final Map<Class<?>, Boolean> hardwareByActivity = new HashMap<>();
+    private final PackageManager packageManager;
+    /** Bilan des décodages écrit dans le logcat (builds de débogage uniquement) */
+    private final boolean reportDecodes;
+    /** Bilan des décodages depuis le lancement (protégé par le verrou de l'instance) */
+    private int decodedCovers;
+    private int hardwareCovers;
+    private long fullSizeBytes;
+    private long decodedBytes;
+
+    private ImageLoader(Context context) {
+        int maxBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, Integer.MAX_VALUE);
+        memoryCache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
+        diskDir = new File(context.getCacheDir(), DISK_DIR);
+        fallbackSize = context.getResources().getDisplayMetrics().widthPixels;
+        packageManager = context.getPackageManager();
+        reportDecodes = (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    /**
+     * Obtient l'instance unique du chargeur d'images
+     * @param context Contexte (seul le contexte de l'application est conservé)
+     * @return Instance unique de l'ImageLoader
+     */
+    public static synchronized ImageLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new ImageLoader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Interface notifiée quand l'image demandée pour une vue y est affichée.
+     */
+    public interface OnLoadedListener {
+        /**
+         * Appelé sur le thread principal, une fois par chargement.
+         * @param bitmap Image affichée (éventuellement HARDWARE, donc en lecture seule)
+         */
+        void onLoaded(Bitmap bitmap);
+    }
+
+    /**
+     * Affiche une image dans une vue. L'image affichée est conservée si la vue montre
+     * déjà cette URL ; sinon le cache mémoire est consulté, puis le chargement est lancé
+     * en arrière-plan et sa signature de couleur (à défaut le placeholder) affichée en
+     * attendant. L'image est décodée à la taille de la vue (ou de ses LayoutParams si elle
+     * n'est pas encore mesurée).
+     *
+     * @param url URL de l'image (null ou vide : seul le placeholder est affiché)
+     * @param view Vue de destination
+     * @param placeholder Image affichée en attendant quand la signature n'est pas connue
+     */
+    public void load(String url, ImageView view, @DrawableRes int placeholder) {
+        load(url, view, placeholder, null);
+    }
+
+    /**
+     * Affiche une image dans une vue, comme {@link #load(String, ImageView, int)},
+     * et notifie un listener quand elle est affichée.
+     *
+     * @param url URL de l'image (null ou vide : seul le placeholder est affiché)
+     * @param view Vue de destination
+     * @param placeholder Image affichée en attendant quand la signature n'est pas connue
+     * @param listener Listener notifié avec l'image affichée (peut être null)
+     */
+    public void load(String url, ImageView view, @DrawableRes int placeholder, OnLoadedListener listener) {
+        Target target = targetOf(view);
+        if (url != null && url.equals(target.url) && (target.delivered || target.job != null)) {
+            // Déjà affichée ou en cours de chargement pour cette vue
+            target.listener = listener;
+            if (target.delivered) {
+                target.notifyLoaded(memoryCache.get(target.key));
+            }
+            return;
+        }
+        target.detachFromJob();
+        target.url = url;
+        target.delivered = false;
+        target.listener = listener;
+
+        if (url == null || url.isEmpty()) {
+            view.setImageResource(placeholder);
+            return;
+        }
+        target.size = sizeBucket(view);
+        target.key = key(url, target.size, target.hardware);
+        Bitmap cached = memoryCache.get(target.key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            target.delivered = true;
+            target.notifyLoaded(cached);
+            return;
+        }
+        if (!showSignature(view, url)) {
+            view.setImageResource(placeholder);
+        }
+        enqueue(target);
+    }
+
+    /**
+     * Affiche en attendant l'image un dégradé de ses couleurs, si sa signature est connue :
+     * un bitmap de 2x2 pixels agrandi avec filtrage bilinéaire, sans lecture disque.
+     *
+     * @return true si la signature a été affichée
+     */
+    private boolean showSignature(ImageView view, String url) {
+        int[] signature = signatures.get(url);
+        if (signature == null) {
+            return false;
+        }
+        BitmapDrawable drawable = new BitmapDrawable(view.getResources(),
+                Bitmap.createBitmap(signature, 2, 2, Bitmap.Config.ARGB_8888));
+        drawable.setFilterBitmap(true);
+        view.setImageDrawable(drawable);
+        return true;
+    }
+
+    /**
+     * Annule la demande en cours pour une vue, sans modifier l'image affichée.
+     *
+     * @param view Vue dont la demande doit être annulée
+     */
+    public void cancel(ImageView view) {
+        Object tag = view.getTag(R.id.image_loader_target);
+        if (tag instanceof Target) {
+            Target target = (Target) tag;
+            target.detachFromJob();
+            target.url = null;
+            target.delivered = false;
+            target.listener = null;
+        }
+    }
+
+    /**
+     * Précharge une image en basse priorité dans le cache mémoire, pour une vue à venir
+     * de la taille indiquée. Sans effet si l'image est déjà en cache ou en cours de chargement.
+     *
+     * @param url URL de l'image
+     * @param size Plus grande dimension de la vue qui l'affichera, en pixels
+     * @param hardware Configuration de la vue qui l'affichera (voir {@link #usesHardwareBitmaps})
+     * @return true si un préchargement a été lancé
+     */
+    public boolean prefetch(String url, int size, boolean hardware) {
+        if (url == null || url.isEmpty()) {
+            return false;
+        }
+        String key = key(url, bucket(size), hardware);
+        if (inFlight.containsKey(key) || memoryCache.get(key) != null) {
+            return false;
+        }
+        Job job = new Job(url, key, bucket(size), hardware);
+        job.prefetch = true;
+        job.lowPriority = true;
+        start(job);
+        return true;
+    }
+
+    /**
+     * Précharge une image à la taille de décodage d'une vue, pour qu'elle y soit ensuite
+     * affichée depuis le cache mémoire (image suivante d'une même vue).
+     *
+     * @param url URL de l'image
+     * @param view Vue qui affichera l'image
+     * @return true si un préchargement a été lancé
+     */
+    public boolean prefetch(String url, ImageView view) {
+        return prefetch(url, sizeBucket(view), targetOf(view).hardware);
+    }
+
+    /**
+     * Abandonne un préchargement qu'aucune vue n'attend encore.
+     *
+     * @param url URL passée à {@link #prefetch(String, int, boolean)}
+     * @param size Taille passée à {@link #prefetch(String, int, boolean)}
+     * @param hardware Configuration passée à {@link #prefetch(String, int, boolean)}
+     */
+    public void cancelPrefetch(String url, int size, boolean hardware) {
+        Job job = inFlight.get(key(url, bucket(size), hardware));
+        if (job != null && job.prefetch) {
+            job.prefetch = false;
+            job.cancelIfUnused();
+        }
+    }
+
+    /**
+     * Indique si un préchargement est encore en cours (ni terminé ni abandonné).
+     *
+     * @param url URL passée à {@link #prefetch(String, int, boolean)}
+     * @param size Taille passée à {@link #prefetch(String, int, boolean)}
+     * @param hardware Configuration passée à {@link #prefetch(String, int, boolean)}
+     * @return true si le préchargement n'est pas terminé
+     */
+    public boolean isPrefetching(String url, int size, boolean hardware) {
+        Job job = inFlight.get(key(url, bucket(size), hardware));
+        return job != null && job.prefetch;
+    }
+
+    /**
+     * Taille de décodage d'une vue : sa plus grande dimension (mesurée, sinon celle de ses
+     * LayoutParams, sinon la largeur de l'écran), arrondie au palier supérieur.
+     */
+    private int sizeBucket(ImageView view) {
+        int size = Math.max(view.getWidth(), view.getHeight());
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (size <= 0 && params != null) {
+            size = Math.max(params.width, params.height);
+        }
+        if (size <= 0) {
+            size = fallbackSize;
+        }
+        return bucket(size);
+    }
+
+    /**
+     * Arrondit une taille au palier supérieur.
+     */
+    private static int bucket(int size) {
+        return (size + SIZE_STEP - 1) / SIZE_STEP * SIZE_STEP;
+    }
+
+    /**
+     * Clé des caches et des demandes en cours : URL, taille de décodage et configuration.
+     */
+    private static String key(String url, int size, boolean hardware) {
+        return url + '@' + size + (hardware ? "h" : "");
+    }
+
+    /**
+     * Indique si les images affichées dans un contexte sont décodées en bitmaps HARDWARE,
+     * qui ne sont dessinables que par une fenêtre accélérée matériellement. Le choix suit
+     * le déclaratif de l'activité, connu avant que ses vues ne soient attachées ; il est
+     * fait une fois par activité. Hors activité, les images restent en mémoire ordinaire.
+     *
+     * @param context Contexte des vues qui afficheront les images
+     * @return true pour des bitmaps HARDWARE
+     */
+    public boolean usesHardwareBitmaps(Context context) {
+        while (context instanceof ContextWrapper && !(context instanceof Activity)) {
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        if (!(context instanceof Activity)) {
+            return false;
+        }
+        Activity activity = (Activity) context;
+        Boolean hardware = hardwareByActivity.get(activity.getClass());
+        if (hardware == null) {
+            try {
+                ActivityInfo info = packageManager.getActivityInfo(activity.getComponentName(), 0);
+                hardware = (info.flags & ActivityInfo.FLAG_HARDWARE_ACCELERATED) != 0;
+            } catch (PackageManager.NameNotFoundException e) {
+                hardware = false;
+            }
+            hardwareByActivity.put(activity.getClass(), hardware);
+        }
+        return hardware;
+    }
+
+    /**
+     * Retourne la cible associée à une vue, créée au premier chargement.
+     */
+    private Target targetOf(ImageView view) {
+        Object tag = view.getTag(R.id.image_loader_target);
+        if (tag instanceof Target) {
+            return (Target) tag;
+        }
+        Target target = new Target(view, usesHardwareBitmaps(view.getContext()));
+        view.setTag(R.id.image_loader_target, target);
+        view.addOnAttachStateChangeListener(target);
+        return target;
+    }
+
+    /**
+     * Rattache une cible au téléchargement de son URL, en le lançant s'il n'existe pas.
+     */
+    private void enqueue(Target target) {
+        Job job = inFlight.get(target.key);
+        if (job == null) {
+            job = new Job(target.url, target.key, target.size, target.hardware);
+            start(job);
+        } else if (job.lowPriority && executor.remove(job)) {
+            // Préchargement pas encore commencé, désormais attendu par une vue
+            job.lowPriority = false;
+            executor.execute(job);
+        }
+        job.targets.add(target);
+        target.job = job;
+    }
+
+    /**
+     * Enregistre une demande et la place dans la file du pool.
+     */
+    private void start(Job job) {
+        job.sequence = nextSequence++;
+        inFlight.put(job.key, job);
+        executor.execute(job);
+    }
+
+    /**
+     * Télécharge (si besoin) et décode une image, sur un thread du pool.
+     */
+    private void run(Job job) {
+        Bitmap bitmap = null;
+        if (!job.cancelled) {
+            try {
+                File file = diskFile(job.url);
+                if (file.exists()) {
+                    file.setLastModified(System.currentTimeMillis());
+                } else {
+                    download(job, file);
+                }
+                if (!job.cancelled && file.exists()) {
+                    bitmap = decode(job, file);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!job.cancelled) {
+                    Log.w(TAG, "Chargement impossible : " + job.url + " (" + e.getMessage() + ")");
+                }
+            }
+        }
+        Bitmap result = bitmap;
+        mainHandler.post(() -> deliver(job, result));
+    }
+
+    /**
+     * Décode une image à la taille demandée : une première passe lit ses dimensions,
+     * inSampleSize réduit l'image par puissance de deux sans passer sous la taille voulue,
+     * puis inDensity/inTargetDensity ajuste l'échelle finale pendant le décodage.
+     * Le décodage se fait dans un tampon de la réserve ; pour une activité accélérée, l'image
+     * est ensuite copiée en bitmap HARDWARE (mémoire graphique) et le tampon rendu à la réserve.
+     */
+    private Bitmap decode(Job job, File file) {
+        int size = job.size;
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getPath(), options);
+        int width = options.outWidth;
+        int height = options.outHeight;
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+
+        int shortSide = Math.min(width, height);
+        int sample = 1;
+        while (shortSide / (sample * 2) >= size) {
+            sample *= 2;
+        }
+        int sampledShortSide = shortSide / sample;
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sample;
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+        options.inMutable = true;
+        if (sampledShortSide > size) {
+            options.inScaled = true;
+            options.inDensity = sampledShortSide;
+            options.inTargetDensity = size;
+        }
+
+        // Taille du résultat (arrondie au-dessus) pour choisir un tampon assez grand
+        int targetShortSide = Math.min(size, sampledShortSide);
+        long outWidth = (long) ((width + sample - 1) / sample) * targetShortSide / sampledShortSide + 1;
+        long outHeight = (long) ((height + sample - 1) / sample) * targetShortSide / sampledShortSide + 1;
+        Bitmap reusable = bitmapPool.get((int) Math.min(outWidth * outHeight * 4, Integer.MAX_VALUE));
+        options.inBitmap = reusable;
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeFile(file.getPath(), options);
+        } catch (IllegalArgumentException e) {
+            // Tampon incompatible : décodage dans un nouveau bitmap
+            bitmapPool.put(reusable);
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeFile(file.getPath(), options);
+        }
+        if (bitmap == null) {
+            bitmapPool.put(reusable);
+            return null;
+        }
+        if (reusable != null && bitmap != reusable) {
+            bitmapPool.put(reusable);
+        }
+        bitmap.setDensity(Bitmap.DENSITY_NONE);
+        signatures.record(job.url, bitmap);
+
+        Bitmap result = bitmap;
+        if (job.hardware) {
+            Bitmap copy = bitmap.copy(Bitmap.Config.HARDWARE, false);
+            if (copy != null) {
+                bitmapPool.put(bitmap);
+                result = copy;
+            }
+        }
+        if (reportDecodes) {
+            recordDecode(4L * width * height, result.getAllocationByteCount(), result != bitmap);
+        }
+        return result;
+    }
+
+    /**
+     * Ajoute un décodage au bilan de la session et l'écrit dans le logcat
+     * toutes les {@value #REPORT_INTERVAL} pochettes. Appelé depuis les threads du pool.
+     *
+     * @param fullSize Octets de l'image décodée en taille réelle
+     * @param decoded Octets du bitmap effectivement conservé
+     * @param hardware Vrai si le bitmap conservé est HARDWARE
+     */
+    private synchronized void recordDecode(long fullSize, long decoded, boolean hardware) {
+        decodedCovers++;
+        if (hardware) {
+            hardwareCovers++;
+        }
+        fullSizeBytes += fullSize;
+        decodedBytes += decoded;
+        if (decodedCovers % REPORT_INTERVAL == 0) {
+            Log.d(TAG, decodedCovers + " pochettes décodées depuis le lancement (" + hardwareCovers + " HARDWARE) : "
+                    + fullSizeBytes / 1024 + " Ko en taille réelle -> " + decodedBytes / 1024 + " Ko décodés");
+        }
+    }
+
+    /**
+     * Télécharge une image dans le cache disque (fichier temporaire puis renommage).
+     */
+    private void download(Job job, File file) throws IOException {
+        if (!diskDir.isDirectory() && !diskDir.mkdirs()) {
+            throw new IOException("Répertoire de cache indisponible");
+        }
+        Call call = client.newCall(new Request.Builder().url(job.url).build());
+        job.call = call;
+        if (job.cancelled) {
+            call.cancel();
+        }
+        File tmp = new File(diskDir, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        try (Response response = call.execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("HTTP " + response.code());
+            }
+            try (InputStream in = body.byteStream(); OutputStream out = new FileOutputStream(tmp)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Écriture du cache impossible");
+        }
+        trimDiskCache();
+    }
+
+    /**
+     * Supprime les images les moins récemment utilisées au-delà de la taille du cache disque.
+     */
+    private synchronized void trimDiskCache() {
+        File[] files = diskDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= DISK_CACHE_BYTES) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (int i = 0; i < files.length && total > DISK_CACHE_BYTES; i++) {
+            long length = files[i].length();
+            if (files[i].delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    /**
+     * Nom du fichier de cache d'une URL : empreinte SHA-1 en hexadécimal.
+     */
+    private File diskFile(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return new File(diskDir, name.toString());
+        } catch (NoSuchAlgorithmException e) {
+            return new File(diskDir, Integer.toHexString(url.hashCode()));
+        }
+    }
+
+    /**
+     * Met en cache le résultat d'un téléchargement et l'affiche dans les vues qui l'attendent.
+     */
+    private void deliver(Job job, Bitmap bitmap) {
+        inFlight.remove(job.key, job);
+        if (bitmap != null) {
+            memoryCache.put(job.key, bitmap);
+        }
+        for (Target target : job.targets) {
+            target.job = null;
+            if (bitmap != null) {
+                target.view.setImageBitmap(bitmap);
+                target.delivered = true;
+                target.notifyLoaded(bitmap);
+            }
+        }
+        job.targets.clear();
+    }
+
+    /**
+     * Téléchargement d'une URL, partagé par toutes les vues qui l'attendent.
+     * Ordonné dans la file du pool par priorité puis par ordre d'arrivée.
+     */
+    private final class Job implements Runnable, Comparable<Job> {
+        final String url;
+        final String key;
+        final int size;
+        final boolean hardware;
+        final List<Target> targets = new ArrayList<>(1);
+        volatile boolean cancelled;
+        volatile Call call;
+        /** Lancé par {@link #prefetch} et pas encore abandonné */
+        boolean prefetch;
+        volatile boolean lowPriority;
+        long sequence;
+
+        Job(String url, String key, int size, boolean hardware) {
+            this.url = url;
+            this.key = key;
+            this.size = size;
+            this.hardware = hardware;
+        }
+
+        @Override
+        public void run() {
+            ImageLoader.this.run(this);
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            if (lowPriority != other.lowPriority) {
+                return lowPriority ? 1 : -1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        /**
+         * Retire une vue ; le téléchargement est abandonné quand plus rien ne l'attend.
+         */
+        void remove(Target target) {
+            targets.remove(target);
+            cancelIfUnused();
+        }
+
+        void cancelIfUnused() {
+            if (targets.isEmpty() && !prefetch) {
+                cancelled = true;
+                inFlight.remove(key, this);
+                executor.remove(this);
+                Call running = call;
+                if (running != null) {
+                    running.cancel();
+                }
+            }
+        }
+    }
+
+    /**
+     * État de chargement d'une vue, conservé dans son tag.
+     * Suit l'attachement de la vue à la fenêtre pour annuler et relancer sa demande.
+     */
+    private final class Target implements View.OnAttachStateChangeListener {
+        final ImageView view;
+        String url;
+        /** Clé des caches et des demandes en cours (voir {@link #key}) */
+        String key;
+        int size;
+        /** Décodage en bitmap HARDWARE, fixé à la création d'après l'activité de la vue */
+        final boolean hardware;
+        boolean delivered;
+        Job job;
+        OnLoadedListener listener;
+
+        Target(ImageView view, boolean hardware) {
+            this.view = view;
+            this.hardware = hardware;
+        }
+
+        void notifyLoaded(Bitmap bitmap) {
+            OnLoadedListener pending = listener;
+            listener = null;
+            if (pending != null && bitmap != null) {
+                pending.onLoaded(bitmap);
+            }
+        }
+
+        void detachFromJob() {
+            if (job != null) {
+                job.remove(this);
+                job = null;
+            }
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            if (url != null && !url.isEmpty() && !delivered && job == null) {
+                Bitmap cached = memoryCache.get(key);
+                if (cached != null) {
+                    view.setImageBitmap(cached);
+                    delivered = true;
+                    notifyLoaded(cached);
+                } else {
+                    enqueue(this);
+                }
+            }
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            detachFromJob();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.sproutify.data;
+
+import java.util.Arrays;
+
+/**
+ * Liste d'entiers primitifs extensible.
+ * Évite l'autoboxing d'une List&lt;Integer&gt; lors de la construction des index.
+ */
+public final class IntList {
+    private int[] values;
+    private int size;
+
+    /**
+     * Crée une liste vide avec une capacité initiale par défaut.
+     */
+    public IntList() {
+        this(8);
+    }
+
+    /**
+     * Crée une liste vide.
+     *
+     * @param capacity Capacité initiale
+     */
+    public IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Ajoute une valeur en fin de liste.
+     *
+     * @param value Valeur à ajouter
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Ajoute une portion d'un tableau en fin de liste.
+     *
+     * @param source Tableau source
+     * @param from Index de début (inclus)
+     * @param to Index de fin (exclu)
+     */
+    public void addAll(int[] source, int from, int to) {
+        int count = to - from;
+        if (size + count > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + count));
+        }
+        System.arraycopy(source, from, values, size, count);
+        size += count;
+    }
+
+    /**
+     * Retourne la valeur à l'index donné.
+     *
+     * @param index Index de la valeur
+     * @return Valeur stockée
+     */
+    public int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Retourne le nombre de valeurs stockées.
+     *
+     * @return Taille de la liste
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Vide la liste sans libérer la mémoire allouée.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copie le contenu dans un tableau de la taille exacte.
+     *
+     * @return Nouveau tableau contenant les valeurs
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
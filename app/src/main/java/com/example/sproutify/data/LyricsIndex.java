@@ -0,0 +1,347 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index inversé positionnel sur les paroles des morceaux.
+ * Chaque terme pointe vers les morceaux qui le contiennent et, pour chacun d'eux,
+ * vers ses positions (numéro de ligne et rang du mot dans la ligne).
+ * Les recherches par phrase et les extraits se calculent uniquement à partir de l'index :
+ * le texte brut des paroles n'est jamais parcouru au moment de la requête.
+ */
+public final class LyricsIndex {
+
+    /** Séparateur de lignes dans Track.contentLines */
+    public static final char LINE_SEPARATOR = ';';
+    /** Nombre de bits réservés au rang du mot dans une position encodée */
+    private static final int WORD_BITS = 12;
+    /** Rang maximal d'un mot indexé dans une ligne */
+    private static final int MAX_WORD_IN_LINE = (1 << WORD_BITS) - 1;
+    /** Nombre maximal de lignes retenues comme extrait pour un morceau */
+    private static final int MAX_SNIPPET_LINES = 3;
+
+    private final List<Track> tracks;
+    private final Map<String, Postings> postings;
+    /** Pour chaque morceau, début de chaque ligne dans contentLines, suivi d'une sentinelle de fin */
+    private final int[][] lineStarts;
+
+    /**
+     * Résultat d'une recherche dans les paroles.
+     */
+    public static final class Hit {
+        /** Position du morceau dans le catalogue indexé */
+        public final int ordinal;
+        /** Numéros des lignes correspondantes, par ordre croissant */
+        public final int[] lines;
+
+        Hit(int ordinal, int[] lines) {
+            this.ordinal = ordinal;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * Liste de postings d'un terme.
+     * Les positions du morceau docs[i] sont stockées dans positions[offsets[i]..offsets[i + 1]).
+     */
+    private static final class Postings {
+        final int[] docs;
+        final int[] offsets;
+        final int[] positions;
+
+        Postings(int[] docs, int[] offsets, int[] positions) {
+            this.docs = docs;
+            this.offsets = offsets;
+            this.positions = positions;
+        }
+    }
+
+    /**
+     * Accumulateur de postings utilisé pendant la construction.
+     */
+    private static final class PostingsBuilder {
+        final IntList docs = new IntList(4);
+        final IntList offsets = new IntList(4);
+        final IntList positions = new IntList(8);
+
+        void add(int doc, IntList docPositions) {
+            docs.add(doc);
+            offsets.add(positions.size());
+            for (int i = 0; i < docPositions.size(); i++) {
+                positions.add(docPositions.get(i));
+            }
+        }
+
+        Postings build() {
+            offsets.add(positions.size());
+            return new Postings(docs.toArray(), offsets.toArray(), positions.toArray());
+        }
+    }
+
+    private LyricsIndex(List<Track> tracks, Map<String, Postings> postings, int[][] lineStarts) {
+        this.tracks = tracks;
+        this.postings = postings;
+        this.lineStarts = lineStarts;
+    }
+
+    /**
+     * Construit l'index à partir de la liste des morceaux.
+     * Opération coûteuse, à exécuter hors du thread principal.
+     *
+     * @param tracks Morceaux du catalogue, dans l'ordre du catalogue
+     * @return Index prêt à être interrogé
+     */
+    public static LyricsIndex build(List<Track> tracks) {
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        Map<String, IntList> trackTerms = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        int[][] lineStarts = new int[tracks.size()][];
+
+        for (int ordinal = 0; ordinal < tracks.size(); ordinal++) {
+            String text = tracks.get(ordinal).contentLines;
+            if (text == null) {
+                text = "";
+            }
+
+            IntList starts = new IntList();
+            starts.add(0);
+            int lineStart = 0;
+            int line = 0;
+            for (int i = 0; i <= text.length(); i++) {
+                if (i < text.length() && text.charAt(i) != LINE_SEPARATOR) {
+                    continue;
+                }
+                words.clear();
+                TextNormalizer.tokenize(text.substring(lineStart, i), words);
+                int count = Math.min(words.size(), MAX_WORD_IN_LINE + 1);
+                for (int w = 0; w < count; w++) {
+                    IntList positions = trackTerms.get(words.get(w));
+                    if (positions == null) {
+                        positions = new IntList(4);
+                        trackTerms.put(words.get(w), positions);
+                    }
+                    positions.add((line << WORD_BITS) | w);
+                }
+                line++;
+                lineStart = i + 1;
+                starts.add(lineStart);
+            }
+            lineStarts[ordinal] = starts.toArray();
+
+            for (Map.Entry<String, IntList> entry : trackTerms.entrySet()) {
+                PostingsBuilder builder = builders.get(entry.getKey());
+                if (builder == null) {
+                    builder = new PostingsBuilder();
+                    builders.put(entry.getKey(), builder);
+                }
+                builder.add(ordinal, entry.getValue());
+            }
+            trackTerms.clear();
+        }
+
+        Map<String, Postings> postings = new HashMap<>(builders.size() * 2);
+        for (Map.Entry<String, PostingsBuilder> entry : builders.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().build());
+        }
+        return new LyricsIndex(tracks, postings, lineStarts);
+    }
+
+    /**
+     * Retourne la liste des morceaux sur laquelle l'index a été construit.
+     *
+     * @return Morceaux indexés
+     */
+    public List<Track> getTracks() {
+        return tracks;
+    }
+
+    /**
+     * Recherche dans les paroles.
+     * Les mots isolés doivent tous être présents dans le morceau ; un texte entre
+     * guillemets doit apparaître tel quel, mots consécutifs sur une même ligne.
+     *
+     * @param query Requête saisie par l'utilisateur
+     * @return Morceaux correspondants dans l'ordre du catalogue, avec leurs lignes
+     */
+    public List<Hit> search(String query) {
+        List<String[]> clauses = parseQuery(query);
+        if (clauses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Résolution des termes ; un terme absent de l'index rend la requête vide
+        Postings[][] resolved = new Postings[clauses.size()][];
+        int[] candidates = null;
+        for (int c = 0; c < clauses.size(); c++) {
+            String[] terms = clauses.get(c);
+            resolved[c] = new Postings[terms.length];
+            for (int t = 0; t < terms.length; t++) {
+                Postings p = postings.get(terms[t]);
+                if (p == null) {
+                    return Collections.emptyList();
+                }
+                resolved[c][t] = p;
+                candidates = candidates == null ? p.docs : intersect(candidates, p.docs);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        IntList lines = new IntList();
+        for (int doc : candidates) {
+            lines.clear();
+            boolean matched = true;
+            for (Postings[] clause : resolved) {
+                if (!collectLines(clause, doc, lines)) {
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                hits.add(new Hit(doc, firstDistinct(lines)));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Construit l'extrait affichable d'un résultat à partir de ses lignes.
+     *
+     * @param hit Résultat de recherche
+     * @return Lignes correspondantes séparées par des points de suspension
+     */
+    public String getSnippet(Hit hit) {
+        StringBuilder sb = new StringBuilder();
+        for (int line : hit.lines) {
+            if (sb.length() > 0) {
+                sb.append(" … ");
+            }
+            sb.append(getLine(hit.ordinal, line));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Retourne une ligne de paroles par son numéro, sans parcourir le reste du texte.
+     *
+     * @param ordinal Position du morceau dans le catalogue indexé
+     * @param line Numéro de la ligne
+     * @return Ligne nettoyée des guillemets CSV, chaîne vide si elle n'existe pas
+     */
+    public String getLine(int ordinal, int line) {
+        String text = tracks.get(ordinal).contentLines;
+        int[] starts = lineStarts[ordinal];
+        if (text == null || line < 0 || line + 1 >= starts.length) {
+            return "";
+        }
+        String raw = text.substring(starts[line], Math.min(text.length(), starts[line + 1] - 1)).trim();
+        if (raw.startsWith("\"")) {
+            raw = raw.substring(1);
+        }
+        if (raw.endsWith("\"") && !raw.endsWith("\"\"")) {
+            raw = raw.substring(0, raw.length() - 1);
+        }
+        return raw.replace("\"\"", "\"").trim();
+    }
+
+    /**
+     * Ajoute les lignes où une clause correspond dans un morceau.
+     *
+     * @param clause Postings des termes de la clause (un seul terme ou une phrase)
+     * @param doc Morceau examiné
+     * @param lines Liste recevant les numéros de ligne
+     * @return true si la clause correspond au moins une fois
+     */
+    private static boolean collectLines(Postings[] clause, int doc, IntList lines) {
+        Postings first = clause[0];
+        int firstIdx = Arrays.binarySearch(first.docs, doc);
+        boolean found = false;
+        for (int i = first.offsets[firstIdx]; i < first.offsets[firstIdx + 1]; i++) {
+            int start = first.positions[i];
+            if ((start & MAX_WORD_IN_LINE) + clause.length - 1 > MAX_WORD_IN_LINE) {
+                continue;
+            }
+            boolean phrase = true;
+            for (int k = 1; k < clause.length && phrase; k++) {
+                Postings next = clause[k];
+                int idx = Arrays.binarySearch(next.docs, doc);
+                phrase = Arrays.binarySearch(next.positions, next.offsets[idx],
+                        next.offsets[idx + 1], start + k) >= 0;
+            }
+            if (phrase) {
+                lines.add(start >>> WORD_BITS);
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Trie les numéros de ligne et garde les premiers distincts.
+     */
+    private static int[] firstDistinct(IntList lines) {
+        int[] sorted = lines.toArray();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length && count < MAX_SNIPPET_LINES; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * Intersection de deux listes triées d'entiers.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Découpe la requête en clauses : chaque mot isolé forme une clause d'un terme,
+     * chaque texte entre guillemets forme une clause de phrase.
+     */
+    private static List<String[]> parseQuery(String query) {
+        List<String[]> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        List<String> words = new ArrayList<>();
+        String[] parts = query.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            words.clear();
+            TextNormalizer.tokenize(parts[i], words);
+            if (i % 2 == 1 && !words.isEmpty()) {
+                // Partie entre guillemets : une seule clause de phrase
+                clauses.add(words.toArray(new String[0]));
+            } else {
+                for (String word : words) {
+                    clauses.add(new String[] { word });
+                }
+            }
+        }
+        return clauses;
+    }
+}
@@ -9,8 +9,17 @@ import java.util.Observable;
 /**
  * Classe singleton qui gère l'état global du lecteur audio
  * Maintient la synchronisation de l'état entre les différentes parties de l'application
+ * Les observateurs sont notifiés à chaque changement effectif, avec en argument
+ * la nature du changement (CHANGE_TRACK, CHANGE_PLAYING ou CHANGE_FAVORITES)
  */
 public class MusicPlayerState extends Observable {
+    /** Argument de notification : la piste en cours a changé */
+    public static final Object CHANGE_TRACK = "track";
+    /** Argument de notification : l'état lecture / pause a changé */
+    public static final Object CHANGE_PLAYING = "playing";
+    /** Argument de notification : les favoris ont changé */
+    public static final Object CHANGE_FAVORITES = "favorites";
+
     private static MusicPlayerState instance;
 
     private Track currentTrack;
@@ -51,9 +60,11 @@ public class MusicPlayerState extends Observable {
     /**
      * Définit la piste en cours de lecture
      * Met à jour la position dans la liste si la piste existe
+     * et notifie les observateurs si la piste change
      * @param track Nouvelle piste en cours
      */
     public void setCurrentTrack(Track track) {
+        boolean changed = track != currentTrack;
         this.currentTrack = track;
 
         // Mettre à jour la position si la piste existe dans la liste
@@ -67,6 +78,9 @@ public class MusicPlayerState extends Observable {
                 }
             }
         }
+        if (changed) {
+            notifyChange(CHANGE_TRACK);
+        }
     }
 
     /**
@@ -79,10 +93,14 @@ public class MusicPlayerState extends Observable {
 
     /**
      * Définit l'état de lecture
+     * Notifie les observateurs si l'état change
      * @param playing true pour indiquer une lecture en cours
      */
     public void setPlaying(boolean playing) {
-        isPlaying = playing;
+        if (isPlaying != playing) {
+            isPlaying = playing;
+            notifyChange(CHANGE_PLAYING);
+        }
     }
 
     /**
@@ -126,8 +144,13 @@ public class MusicPlayerState extends Observable {
      */
     public void setCurrentTrackPosition(int position) {
         if (position >= 0 && trackList != null && position < trackList.size()) {
+            Track track = trackList.get(position);
+            boolean changed = track != currentTrack;
             this.currentTrackPosition = position;
-            this.currentTrack = trackList.get(position);
+            this.currentTrack = track;
+            if (changed) {
+                notifyChange(CHANGE_TRACK);
+            }
         }
     }
 
@@ -176,8 +199,15 @@ public class MusicPlayerState extends Observable {
      * Utilise le pattern Observer pour la synchronisation
      */
     private void notifyFavoritesChanged() {
-        // Notifier les observateurs du changement
+        notifyChange(CHANGE_FAVORITES);
+    }
+
+    /**
+     * Notifie les observateurs, sur le thread qui a modifié l'état
+     * @param change Nature du changement
+     */
+    private void notifyChange(Object change) {
         setChanged();
-        notifyObservers();
+        notifyObservers(change);
     }
 }
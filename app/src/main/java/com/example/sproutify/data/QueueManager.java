@@ -18,6 +18,7 @@ public class QueueManager {
     private boolean isShuffleMode;
     private Random random;
     private int baseListIndex; // Index pour la lecture séquentielle de la liste de base
+    private int shuffleIndex = -1; // Piste aléatoire déjà tirée pour le prochain getNextTrack (-1 : aucune)
 
     /**
      * Constructeur privé pour le pattern Singleton
@@ -51,6 +52,7 @@ public class QueueManager {
     public void setBaseList(List<Track> tracks) {
         baseList = new ArrayList<>(tracks);
         baseListIndex = 0;
+        shuffleIndex = -1;
         
         // Initialiser la file d'attente avec les 10 premiers morceaux
         queue.clear();
@@ -191,6 +193,27 @@ public class QueueManager {
         return null;
     }
 
+    /**
+     * Retourne la piste que jouera le prochain getNextTrack, sans avancer dans la liste
+     * En mode aléatoire, la piste est tirée ici et conservée pour getNextTrack
+     * @return Prochaine piste à jouer ou null si aucune
+     */
+    public Track peekNextTrack() {
+        if (!queue.isEmpty() && currentIndex + 1 < queue.size()) {
+            return queue.get(currentIndex + 1);
+        }
+        if (baseList.isEmpty()) {
+            return null;
+        }
+        if (isShuffleMode) {
+            if (shuffleIndex < 0 || shuffleIndex >= baseList.size()) {
+                shuffleIndex = random.nextInt(baseList.size());
+            }
+            return baseList.get(shuffleIndex);
+        }
+        return baseList.get(baseListIndex % baseList.size());
+    }
+
     /**
      * Récupère la piste suivante à jouer
      * Gère la lecture en boucle et le mode aléatoire
@@ -208,18 +231,17 @@ public class QueueManager {
         }
         
         // Si la file d'attente est vide, prendre une piste de la liste de base
-        if (!baseList.isEmpty()) {
+        Track nextTrack = peekNextTrack();
+        if (nextTrack != null) {
             if (isShuffleMode) {
-                Track nextTrack = baseList.get(random.nextInt(baseList.size()));
                 Log.d("QueueManager", "getNextTrack: Piste aléatoire trouvée dans la liste de base - " + nextTrack.title);
-                return nextTrack;
+                shuffleIndex = -1;
             } else {
                 // Mode séquentiel : prendre la piste suivante de la liste de base
-                Track nextTrack = baseList.get(baseListIndex);
                 Log.d("QueueManager", "getNextTrack: Piste séquentielle trouvée dans la liste de base - " + nextTrack.title);
-                baseListIndex = (baseListIndex + 1) % baseList.size();
-                return nextTrack;
+                baseListIndex = (baseListIndex % baseList.size() + 1) % baseList.size();
             }
+            return nextTrack;
         }
         
         Log.d("QueueManager", "getNextTrack: Aucune piste suivante disponible");
@@ -227,25 +249,33 @@ public class QueueManager {
     }
 
     /**
-     * Récupère la piste précédente
-     * Gère la navigation dans l'historique
+     * Retourne la piste que jouera le prochain getPreviousTrack, sans reculer dans la liste
      * @return Piste précédente ou null si aucune
      */
-    public Track getPreviousTrack() {
-        // Si on est dans la file d'attente
+    public Track peekPreviousTrack() {
         if (!queue.isEmpty() && currentIndex - 1 >= 0) {
             return queue.get(currentIndex - 1);
         }
-        
-        // Si on est dans la liste de base et pas en mode aléatoire
         if (!baseList.isEmpty() && !isShuffleMode) {
-            baseListIndex = (baseListIndex - 1 + baseList.size()) % baseList.size();
-            return baseList.get(baseListIndex);
+            return baseList.get((baseListIndex - 1 + baseList.size()) % baseList.size());
         }
-        
         return null;
     }
 
+    /**
+     * Récupère la piste précédente
+     * Gère la navigation dans l'historique
+     * @return Piste précédente ou null si aucune
+     */
+    public Track getPreviousTrack() {
+        Track previousTrack = peekPreviousTrack();
+        // Dans la liste de base, reculer l'index de lecture séquentielle
+        if (previousTrack != null && (queue.isEmpty() || currentIndex - 1 < 0)) {
+            baseListIndex = (baseListIndex - 1 + baseList.size()) % baseList.size();
+        }
+        return previousTrack;
+    }
+
     /**
      * Déplace l'index vers la piste suivante
      * Gère la fin de la file d'attente
@@ -314,6 +344,7 @@ public class QueueManager {
      */
     public void setShuffleMode(boolean shuffle) {
         isShuffleMode = shuffle;
+        shuffleIndex = -1;
     }
 
     /**
@@ -0,0 +1,578 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index de recherche classée sur le titre, l'artiste et l'album des morceaux.
+ * Les résultats sont notés avec BM25 par champ, pondérés par champ, avec un bonus
+ * pour les titres identiques à la requête (mêmes mots dans le même ordre) et les titres
+ * qui commencent par la requête.
+ * Le dernier mot est complété comme un préfixe sur toute la plage du dictionnaire qu'il
+ * couvre : un préfixe court ("a", "la") parcourt beaucoup de termes, mais chaque posting
+ * n'est lu qu'une fois par terme et aucune correspondance n'est perdue.
+ * Seuls les K meilleurs sont classés, à l'aide d'un tas ; les autres correspondances
+ * suivent dans l'ordre du catalogue.
+ *
+ * L'index est stocké sous forme compacte dans un ByteBuffer :
+ * longueurs des champs, empreinte de la suite des mots de chaque titre, dictionnaire
+ * de termes trié puis listes de postings encodées en varint delta.
+ */
+public final class SearchIndex {
+
+    /** Champ titre */
+    public static final int FIELD_TITLE = 0;
+    /** Champ artiste */
+    public static final int FIELD_ARTIST = 1;
+    /** Champ album */
+    public static final int FIELD_ALBUM = 2;
+    /** Masque de recherche sur tous les champs */
+    public static final int ALL_FIELDS = 0b111;
+    /** Nombre de résultats classés par défaut */
+    public static final int DEFAULT_TOP_K = 100;
+
+    private static final int FIELD_COUNT = 3;
+    private static final int MAGIC = 0x53504958; // "SPIX"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 4 * 4 + FIELD_COUNT * 4;
+
+    private static final float[] FIELD_BOOSTS = { 3.0f, 2.0f, 1.0f };
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    /** Pénalité appliquée à un terme trouvé par complétion de préfixe */
+    private static final float PREFIX_MATCH_WEIGHT = 0.8f;
+    /** Bonus quand le titre est exactement la requête (mêmes mots, même ordre) */
+    private static final float EXACT_TITLE_BONUS = 10f;
+    /** Bonus quand le titre commence par le premier mot de la requête */
+    private static final float TITLE_PREFIX_BONUS = 3f;
+
+    private final ByteBuffer buffer;
+    private final int docCount;
+    private final int termCount;
+    private final float[] avgFieldLengths = new float[FIELD_COUNT];
+    private final int fieldLengthsOffset;
+    private final int titleHashesOffset;
+    private final int termOffsetsOffset;
+
+    // Tableaux de travail réutilisés d'une requête à l'autre (accès synchronisé)
+    private float[] scores;
+    private int[] stages;
+    private byte[] titleExactHits;
+    private boolean[] titleStarts;
+    private final IntList touched = new IntList(64);
+
+    /**
+     * Ouvre un index à partir de son contenu encodé.
+     *
+     * @param buffer Contenu produit par {@link #build(List)}
+     * @throws IllegalArgumentException si le contenu n'est pas un index reconnu
+     */
+    public SearchIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Format d'index de recherche inconnu");
+        }
+        docCount = buffer.getInt(8);
+        termCount = buffer.getInt(12);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            avgFieldLengths[f] = buffer.getFloat(16 + f * 4);
+        }
+        fieldLengthsOffset = HEADER_SIZE;
+        titleHashesOffset = fieldLengthsOffset + FIELD_COUNT * docCount;
+        termOffsetsOffset = titleHashesOffset + 4 * docCount;
+    }
+
+    /**
+     * Construit l'index à partir de la liste des morceaux.
+     * Opération coûteuse, à exécuter hors du thread principal.
+     *
+     * @param tracks Morceaux du catalogue, dans l'ordre du catalogue
+     * @return Index prêt à être interrogé
+     */
+    public static SearchIndex build(List<Track> tracks) {
+        return new SearchIndex(ByteBuffer.wrap(encode(tracks)));
+    }
+
+    /**
+     * Retourne le contenu encodé de l'index.
+     *
+     * @return Vue en lecture seule sur le contenu
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Retourne le nombre de morceaux indexés.
+     *
+     * @return Nombre de morceaux
+     */
+    public int getDocCount() {
+        return docCount;
+    }
+
+    /**
+     * Recherche les morceaux dont chaque mot de la requête apparaît dans un des champs demandés.
+     * Le dernier mot est complété comme un préfixe, sauf si la requête se termine par un espace.
+     *
+     * @param query Requête saisie par l'utilisateur
+     * @param fieldMask Champs interrogés (bits 1 << FIELD_*)
+     * @param topK Nombre de résultats classés par pertinence
+     * @return Positions des morceaux : les topK meilleurs par score décroissant,
+     *         puis les autres correspondances dans l'ordre du catalogue
+     */
+    public synchronized int[] search(String query, int fieldMask, int topK) {
+        List<String> terms = new ArrayList<>();
+        TextNormalizer.tokenize(query, terms);
+        if (terms.isEmpty()) {
+            return new int[0];
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        ensureScratch();
+
+        int queryTerms = terms.size();
+        for (int qi = 0; qi < queryTerms; qi++) {
+            byte[] key = terms.get(qi).getBytes(StandardCharsets.UTF_8);
+            boolean prefix = lastIsPrefix && qi == queryTerms - 1;
+            int first = lowerBound(key);
+            int last = prefix ? prefixEnd(key, first)
+                    : (first < termCount && compareTerm(first, key, false) == 0 ? first + 1 : first);
+            for (int t = first; t < last; t++) {
+                boolean exact = termLength(t) == key.length;
+                scoreTerm(t, qi, exact, fieldMask);
+            }
+            if (qi == 0 && touched.size() == 0) {
+                break; // Premier mot introuvable : aucun résultat possible
+            }
+        }
+
+        int[] result = collect(queryTerms, terms.hashCode(), topK);
+        resetScratch();
+        return result;
+    }
+
+    /**
+     * Ajoute les contributions BM25 d'un terme du dictionnaire pour le mot qi de la requête.
+     */
+    private void scoreTerm(int term, int qi, boolean exact, int fieldMask) {
+        int pos = termEntryOffset(term);
+        int termLen = readVarInt(pos);
+        pos = varIntEnd(pos) + termLen;
+
+        int[] docFreqs = new int[FIELD_COUNT];
+        int[] byteLens = new int[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            docFreqs[f] = readVarInt(pos);
+            pos = varIntEnd(pos);
+            byteLens[f] = readVarInt(pos);
+            pos = varIntEnd(pos);
+        }
+
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            int end = pos + byteLens[f];
+            if ((fieldMask & (1 << f)) == 0 || docFreqs[f] == 0) {
+                pos = end;
+                continue;
+            }
+            float idf = (float) Math.log(1 + (docCount - docFreqs[f] + 0.5) / (docFreqs[f] + 0.5));
+            float weight = FIELD_BOOSTS[f] * idf * (exact ? 1f : PREFIX_MATCH_WEIGHT);
+            int doc = 0;
+            while (pos < end) {
+                doc += readVarInt(pos);
+                pos = varIntEnd(pos);
+                int tfFlags = readVarInt(pos);
+                pos = varIntEnd(pos);
+
+                int stage = stages[doc];
+                if (stage != qi && stage != qi + 1) {
+                    continue; // Un mot précédent de la requête manque dans ce morceau
+                }
+                if (stage == qi) {
+                    stages[doc] = qi + 1;
+                    if (qi == 0) {
+                        touched.add(doc);
+                    }
+                }
+                int tf = tfFlags >>> 1;
+                int length = buffer.get(fieldLengthsOffset + f * docCount + doc) & 0xFF;
+                float norm = 1 - B + B * length / Math.max(1f, avgFieldLengths[f]);
+                scores[doc] += weight * tf * (K1 + 1) / (tf + K1 * norm);
+
+                if (f == FIELD_TITLE) {
+                    if (exact) {
+                        titleExactHits[doc]++;
+                    }
+                    if (qi == 0 && (tfFlags & 1) != 0) {
+                        titleStarts[doc] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sélectionne les topK meilleurs morceaux avec un tas minimal, puis ajoute les autres
+     * correspondances dans l'ordre du catalogue.
+     */
+    private int[] collect(int queryTerms, int queryHash, int topK) {
+        int[] heapDocs = new int[Math.max(1, topK)];
+        float[] heapScores = new float[heapDocs.length];
+        int heapSize = 0;
+        int matchCount = 0;
+
+        for (int i = 0; i < touched.size(); i++) {
+            int doc = touched.get(i);
+            if (stages[doc] != queryTerms) {
+                continue;
+            }
+            matchCount++;
+            float score = scores[doc];
+            int titleLength = buffer.get(fieldLengthsOffset + FIELD_TITLE * docCount + doc) & 0xFF;
+            if (titleExactHits[doc] == queryTerms && titleLength == queryTerms
+                    && buffer.getInt(titleHashesOffset + doc * 4) == queryHash) {
+                score += EXACT_TITLE_BONUS;
+            } else if (titleStarts[doc]) {
+                score += TITLE_PREFIX_BONUS;
+            }
+            scores[doc] = score;
+
+            if (heapSize < heapDocs.length) {
+                heapDocs[heapSize] = doc;
+                heapScores[heapSize] = score;
+                siftUp(heapDocs, heapScores, heapSize++);
+            } else if (better(score, doc, heapScores[0], heapDocs[0])) {
+                heapDocs[0] = doc;
+                heapScores[0] = score;
+                siftDown(heapDocs, heapScores, 0, heapSize);
+            }
+        }
+
+        int[] result = new int[matchCount];
+        // Vidage du tas : le plus faible sort en premier, on remplit donc par la fin
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heapDocs[0];
+            heapDocs[0] = heapDocs[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapDocs, heapScores, 0, i);
+        }
+        if (matchCount > heapSize) {
+            int[] tail = new int[matchCount - heapSize];
+            int n = 0;
+            float threshold = heapSize > 0 ? scores[result[heapSize - 1]] : Float.MAX_VALUE;
+            int thresholdDoc = heapSize > 0 ? result[heapSize - 1] : -1;
+            for (int i = 0; i < touched.size(); i++) {
+                int doc = touched.get(i);
+                if (stages[doc] == queryTerms && !better(scores[doc], doc, threshold, thresholdDoc)
+                        && doc != thresholdDoc) {
+                    tail[n++] = doc;
+                }
+            }
+            Arrays.sort(tail, 0, n);
+            System.arraycopy(tail, 0, result, heapSize, n);
+        }
+        return result;
+    }
+
+    /**
+     * Ordre de classement : score décroissant, puis ordre du catalogue.
+     */
+    private static boolean better(float score, int doc, float otherScore, int otherDoc) {
+        return score > otherScore || (score == otherScore && doc < otherDoc);
+    }
+
+    private static void siftUp(int[] docs, float[] scores, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(scores[parent], docs[parent], scores[i], docs[i])) {
+                break;
+            }
+            swap(docs, scores, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] docs, float[] scores, int i, int size) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && better(scores[left], docs[left], scores[right], docs[right])) {
+                weakest = right;
+            }
+            if (!better(scores[i], docs[i], scores[weakest], docs[weakest])) {
+                return;
+            }
+            swap(docs, scores, i, weakest);
+            i = weakest;
+        }
+    }
+
+    private static void swap(int[] docs, float[] scores, int a, int b) {
+        int d = docs[a];
+        docs[a] = docs[b];
+        docs[b] = d;
+        float s = scores[a];
+        scores[a] = scores[b];
+        scores[b] = s;
+    }
+
+    private void ensureScratch() {
+        if (scores == null) {
+            scores = new float[docCount];
+            stages = new int[docCount];
+            titleExactHits = new byte[docCount];
+            titleStarts = new boolean[docCount];
+        }
+    }
+
+    /**
+     * Remet à zéro uniquement les entrées touchées par la requête.
+     */
+    private void resetScratch() {
+        for (int i = 0; i < touched.size(); i++) {
+            int doc = touched.get(i);
+            scores[doc] = 0;
+            stages[doc] = 0;
+            titleExactHits[doc] = 0;
+            titleStarts[doc] = false;
+        }
+        touched.clear();
+    }
+
+    // ---- Dictionnaire de termes ----
+
+    private int termEntryOffset(int term) {
+        return buffer.getInt(termOffsetsOffset + term * 4);
+    }
+
+    private int termLength(int term) {
+        return readVarInt(termEntryOffset(term));
+    }
+
+    /**
+     * Compare un terme du dictionnaire à une clé, octet par octet (ordre UTF-8).
+     *
+     * @param asPrefix true pour ne comparer que les premiers octets du terme
+     */
+    private int compareTerm(int term, byte[] key, boolean asPrefix) {
+        int pos = termEntryOffset(term);
+        int length = readVarInt(pos);
+        pos = varIntEnd(pos);
+        int n = Math.min(length, key.length);
+        for (int i = 0; i < n; i++) {
+            int a = buffer.get(pos + i) & 0xFF;
+            int b = key[i] & 0xFF;
+            if (a != b) {
+                return a - b;
+            }
+        }
+        if (asPrefix && length >= key.length) {
+            return 0;
+        }
+        return length - key.length;
+    }
+
+    /**
+     * Premier terme supérieur ou égal à la clé.
+     */
+    private int lowerBound(byte[] key) {
+        int lo = 0;
+        int hi = termCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareTerm(mid, key, false) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Premier terme, à partir de from, qui ne commence plus par la clé.
+     */
+    private int prefixEnd(byte[] key, int from) {
+        int lo = from;
+        int hi = termCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareTerm(mid, key, true) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int readVarInt(int pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(pos++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private int varIntEnd(int pos) {
+        while ((buffer.get(pos) & 0x80) != 0) {
+            pos++;
+        }
+        return pos + 1;
+    }
+
+    // ---- Construction ----
+
+    /**
+     * Accumulateur de postings d'un terme, pour chaque champ.
+     */
+    private static final class TermPostings {
+        final IntList[] docs = new IntList[FIELD_COUNT];
+        final IntList[] tfFlags = new IntList[FIELD_COUNT];
+
+        TermPostings() {
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                docs[f] = new IntList(2);
+                tfFlags[f] = new IntList(2);
+            }
+        }
+    }
+
+    /**
+     * Encode l'index : en-tête, longueurs des champs, table des termes puis entrées des termes.
+     */
+    static byte[] encode(List<Track> tracks) {
+        int docCount = tracks.size();
+        Map<String, TermPostings> postings = new HashMap<>();
+        byte[] fieldLengths = new byte[FIELD_COUNT * docCount];
+        int[] titleHashes = new int[docCount];
+        long[] totalLengths = new long[FIELD_COUNT];
+        List<String> words = new ArrayList<>();
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int doc = 0; doc < docCount; doc++) {
+            Track track = tracks.get(doc);
+            String[] fields = { track.title, track.artist, track.album };
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                words.clear();
+                TextNormalizer.tokenize(fields[f], words);
+                fieldLengths[f * docCount + doc] = (byte) Math.min(255, words.size());
+                totalLengths[f] += words.size();
+                if (f == FIELD_TITLE) {
+                    // Empreinte de la suite ordonnée des mots (List.hashCode est stable d'une exécution à l'autre)
+                    titleHashes[doc] = words.hashCode();
+                }
+
+                counts.clear();
+                for (String word : words) {
+                    Integer c = counts.get(word);
+                    counts.put(word, c == null ? 1 : c + 1);
+                }
+                for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                    TermPostings p = postings.get(entry.getKey());
+                    if (p == null) {
+                        p = new TermPostings();
+                        postings.put(entry.getKey(), p);
+                    }
+                    boolean atStart = words.get(0).equals(entry.getKey());
+                    p.docs[f].add(doc);
+                    p.tfFlags[f].add((entry.getValue() << 1) | (atStart ? 1 : 0));
+                }
+            }
+        }
+
+        // Tri des termes par octets UTF-8 pour que la recherche binaire compare des octets
+        byte[][] keys = new byte[postings.size()][];
+        String[] terms = postings.keySet().toArray(new String[0]);
+        for (int i = 0; i < terms.length; i++) {
+            keys[i] = terms[i].getBytes(StandardCharsets.UTF_8);
+        }
+        Integer[] order = new Integer[terms.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compareBytes(keys[a], keys[b]));
+
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+        int[] entryOffsets = new int[terms.length];
+        int entriesBase = HEADER_SIZE + fieldLengths.length + docCount * 4 + terms.length * 4;
+        for (int i = 0; i < order.length; i++) {
+            int t = order[i];
+            entryOffsets[i] = entriesBase + entries.size();
+            writeVarInt(entries, keys[t].length);
+            entries.write(keys[t], 0, keys[t].length);
+
+            TermPostings p = postings.get(terms[t]);
+            byte[][] encoded = new byte[FIELD_COUNT][];
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                fieldBytes.reset();
+                int previous = 0;
+                for (int j = 0; j < p.docs[f].size(); j++) {
+                    int doc = p.docs[f].get(j);
+                    writeVarInt(fieldBytes, doc - previous);
+                    writeVarInt(fieldBytes, p.tfFlags[f].get(j));
+                    previous = doc;
+                }
+                encoded[f] = fieldBytes.toByteArray();
+                writeVarInt(entries, p.docs[f].size());
+                writeVarInt(entries, encoded[f].length);
+            }
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                entries.write(encoded[f], 0, encoded[f].length);
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(entriesBase + entries.size());
+        out.putInt(MAGIC);
+        out.putInt(FORMAT_VERSION);
+        out.putInt(docCount);
+        out.putInt(terms.length);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            out.putFloat(docCount == 0 ? 0f : (float) totalLengths[f] / docCount);
+        }
+        out.put(fieldLengths);
+        for (int hash : titleHashes) {
+            out.putInt(hash);
+        }
+        for (int offset : entryOffsets) {
+            out.putInt(offset);
+        }
+        out.put(entries.toByteArray());
+        return out.array();
+    }
+
+    private static int compareBytes(byte[] a, byte[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            int d = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (d != 0) {
+                return d;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
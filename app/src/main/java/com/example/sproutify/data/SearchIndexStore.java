@@ -0,0 +1,171 @@
+package com.example.sproutify.data;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Persistance de l'index de recherche à côté du catalogue.
+ * Chaque fichier est nommé d'après l'empreinte du catalogue qu'il indexe ;
+ * il est relu par projection mémoire (mmap) pour que les pages ne soient
+ * chargées qu'au moment où une recherche les parcourt, hors du tas Java.
+ * L'index est précédé d'un en-tête portant sa longueur et son CRC32. Le CRC est vérifié
+ * juste après l'écriture, tant que les pages sont encore en cache ; à l'ouverture, seuls
+ * l'en-tête et la longueur sont contrôlés, pour ne lire aucune page au démarrage.
+ * Un fichier tronqué ou d'un autre format est supprimé et l'index reconstruit.
+ */
+public final class SearchIndexStore {
+    private static final String TAG = "SearchIndexStore";
+    private static final String PREFIX = "search-";
+    private static final String SUFFIX = ".idx";
+    private static final int MAGIC = 0x53504946; // "SPIF"
+    /** En-tête : magic (4 octets), longueur de l'index (8 octets), CRC32 de l'index (4 octets) */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation
+     * La classe est utilisée uniquement via ses méthodes statiques
+     */
+    private SearchIndexStore() { }
+
+    /**
+     * Retourne le fichier d'index associé à une empreinte de catalogue.
+     * @param dir Répertoire du catalogue
+     * @param fingerprint Empreinte du contenu du catalogue
+     * @return Fichier d'index (peut ne pas exister)
+     */
+    public static File fileFor(File dir, long fingerprint) {
+        return new File(dir, PREFIX + String.format(Locale.ROOT, "%016x", fingerprint) + SUFFIX);
+    }
+
+    /**
+     * Ouvre un index existant par projection mémoire, après avoir vérifié son en-tête
+     * et sa longueur (aucune page de l'index n'est lue).
+     * Un fichier invalide est supprimé sans journalisation : l'appelant reconstruit l'index.
+     * @param file Fichier d'index
+     * @return Index, ou null si le fichier est absent, illisible ou tronqué
+     */
+    public static SearchIndex open(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // La projection reste valide après la fermeture du canal
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!hasValidHeader(mapped)) {
+                throw new IllegalArgumentException("En-tête ou longueur de l'index invalide");
+            }
+            return new SearchIndex(body(mapped));
+        } catch (IOException | IllegalArgumentException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Relit un fichier d'index en entier et vérifie son CRC32.
+     * @param file Fichier d'index
+     * @return true si l'en-tête, la longueur et le CRC sont corrects
+     */
+    static boolean verify(File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return hasValidHeader(mapped) && crc(body(mapped)) == mapped.getInt(12);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasValidHeader(ByteBuffer file) {
+        return file.capacity() >= HEADER_SIZE && file.getInt(0) == MAGIC
+                && file.getLong(4) == file.capacity() - HEADER_SIZE;
+    }
+
+    /**
+     * Index proprement dit, sans l'en-tête du fichier.
+     */
+    private static ByteBuffer body(ByteBuffer file) {
+        ByteBuffer view = file.duplicate();
+        view.position(HEADER_SIZE);
+        return view.slice();
+    }
+
+    /**
+     * Écrit un index sur disque de façon atomique (fichier temporaire puis renommage)
+     * et supprime les index des anciennes versions du catalogue.
+     * @param index Index à écrire
+     * @param file Fichier de destination
+     * @return true si l'écriture a réussi
+     */
+    public static boolean save(SearchIndex index, File file) {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            return false;
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            ByteBuffer content = index.getBuffer().duplicate();
+            content.rewind();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putLong(content.remaining()).putInt(crc(content));
+            header.flip();
+            FileChannel channel = out.getChannel();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            out.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "Erreur lors de l'écriture de l'index", e);
+            tmp.delete();
+            return false;
+        }
+        if (!verify(tmp)) {
+            Log.e(TAG, "Index écrit invalide (CRC)");
+            tmp.delete();
+            return false;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            return false;
+        }
+        deleteOthers(dir, file);
+        return true;
+    }
+
+    /**
+     * CRC32 du contenu d'un tampon, de sa position à sa limite (le tampon n'est pas modifié).
+     */
+    private static int crc(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Supprime les fichiers d'index qui ne correspondent plus au catalogue courant.
+     */
+    private static void deleteOthers(File dir, File keep) {
+        File[] files = dir != null ? dir.listFiles() : null;
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            if (!f.equals(keep) && f.getName().startsWith(PREFIX) && f.getName().endsWith(SUFFIX)) {
+                f.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.sproutify.data;
+
+import android.util.LruCache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache LRU des résultats de filtrage, partagé par les onglets Accueil et Favoris
+ * (pattern Singleton). Un résultat est la liste des positions des morceaux dans le
+ * catalogue, identifiée par tout ce dont elle dépend : version du catalogue, version
+ * des favoris, filtre, élément sélectionné, filtres combinés, tri et recherche.
+ */
+public final class SearchResultCache {
+    /** Taille maximale du cache, en nombre de positions mémorisées (~1 Mo) */
+    private static final int MAX_ORDINALS = 256 * 1024;
+
+    /**
+     * Clé d'un résultat : ensemble des critères ayant servi à le calculer
+     */
+    public static final class Key {
+        private final int catalogVersion;
+        private final int favoritesVersion;
+        private final boolean favoritesOnly;
+        private final int filter;
+        private final boolean uniqueItems;
+        private final String selectedItem;
+        private final FacetEngine.Selection facets;
+        private final int sort;
+        private final String query;
+
+        /**
+         * @param catalogVersion Version du catalogue
+         * @param favoritesVersion Version des favoris (ignorée si favoritesOnly est faux)
+         * @param favoritesOnly true si le résultat est restreint aux favoris
+         * @param filter Filtre sélectionné
+         * @param uniqueItems true pour la liste des titres, artistes ou albums distincts
+         * @param selectedItem Artiste ou album sélectionné, chaîne vide sinon
+         * @param facets Filtres combinés sélectionnés
+         * @param sort Mode de tri
+         * @param query Recherche saisie
+         */
+        public Key(int catalogVersion, int favoritesVersion, boolean favoritesOnly, int filter,
+                   boolean uniqueItems, String selectedItem, FacetEngine.Selection facets,
+                   int sort, String query) {
+            this.catalogVersion = catalogVersion;
+            // Sans filtre sur les favoris, inutile d'invalider les résultats quand ils changent
+            this.favoritesVersion = favoritesOnly || facets.isFavoritesOnly() ? favoritesVersion : 0;
+            this.favoritesOnly = favoritesOnly;
+            this.filter = filter;
+            this.uniqueItems = uniqueItems;
+            this.selectedItem = selectedItem;
+            this.facets = facets;
+            this.sort = sort;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return catalogVersion == other.catalogVersion
+                    && favoritesVersion == other.favoritesVersion
+                    && favoritesOnly == other.favoritesOnly
+                    && filter == other.filter
+                    && uniqueItems == other.uniqueItems
+                    && sort == other.sort
+                    && selectedItem.equals(other.selectedItem)
+                    && facets.equals(other.facets)
+                    && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogVersion, favoritesVersion, favoritesOnly, filter,
+                    uniqueItems, selectedItem, facets, sort, query);
+        }
+    }
+
+    /**
+     * Résultat mémorisé : positions des morceaux et extraits de paroles éventuels
+     */
+    public static final class Result {
+        /** Positions des morceaux dans le catalogue, dans l'ordre d'affichage */
+        public final int[] ordinals;
+        /** Extraits de paroles par identifiant de morceau */
+        public final Map<String, String> snippets;
+
+        /**
+         * @param ordinals Positions des morceaux (le tableau ne doit plus être modifié)
+         * @param snippets Extraits de paroles par identifiant de morceau
+         */
+        public Result(int[] ordinals, Map<String, String> snippets) {
+            this.ordinals = ordinals;
+            this.snippets = Collections.unmodifiableMap(snippets);
+        }
+    }
+
+    private static SearchResultCache instance;
+
+    private final LruCache<Key, Result> cache = new LruCache<Key, Result>(MAX_ORDINALS) {
+        @Override
+        protected int sizeOf(Key key, Result value) {
+            return value.ordinals.length + 1;
+        }
+    };
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private SearchResultCache() { }
+
+    /**
+     * Obtient l'instance unique du cache
+     * @return Instance unique du SearchResultCache
+     */
+    public static synchronized SearchResultCache getInstance() {
+        if (instance == null) {
+            instance = new SearchResultCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Recherche un résultat déjà calculé
+     * @param key Critères du résultat
+     * @return Résultat mémorisé, ou null s'il doit être calculé
+     */
+    public Result get(Key key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Mémorise un résultat
+     * @param key Critères du résultat
+     * @param result Résultat calculé
+     */
+    public void put(Key key, Result result) {
+        cache.put(key, result);
+    }
+
+    /**
+     * Vide le cache
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * Nombre de résultats servis depuis le cache
+     * @return Nombre de succès
+     */
+    public int getHitCount() {
+        return cache.hitCount();
+    }
+
+    /**
+     * Nombre de résultats qui ont dû être calculés
+     * @return Nombre d'échecs
+     */
+    public int getMissCount() {
+        return cache.missCount();
+    }
+
+    /**
+     * Proportion des demandes servies depuis le cache
+     * @return Taux de succès entre 0 et 1
+     */
+    public float getHitRate() {
+        int hits = cache.hitCount();
+        int total = hits + cache.missCount();
+        return total == 0 ? 0f : (float) hits / total;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ordres de tri précalculés du catalogue.
+ * Pour chaque mode, une permutation des positions des morceaux est calculée une fois
+ * par version du catalogue à partir de clés de collation (sans tenir compte de la
+ * casse ni des accents). Trier un résultat revient ensuite à le parcourir dans
+ * l'ordre de la permutation, sans comparateur sur le thread principal.
+ */
+public final class SortOrders {
+    /** Ordre du catalogue (ou de pertinence pour une recherche) : aucun tri */
+    public static final int SORT_DEFAULT = 0;
+    /** Tri par titre */
+    public static final int SORT_TITLE = 1;
+    /** Tri par artiste, puis album */
+    public static final int SORT_ARTIST = 2;
+    /** Tri par album */
+    public static final int SORT_ALBUM = 3;
+    /** Tri par année, la plus récente en premier */
+    public static final int SORT_YEAR = 4;
+    /** Tri par durée croissante */
+    public static final int SORT_DURATION = 5;
+
+    private static final int MODE_COUNT = 6;
+
+    /** En dessous de n / SPARSE_RATIO résultats, on trie les rangs plutôt que de parcourir la permutation */
+    private static final int SPARSE_RATIO = 32;
+
+    private final int size;
+    /** permutations[mode][rang] = position du morceau */
+    private final int[][] permutations;
+    /** ranks[mode][position] = rang du morceau */
+    private final int[][] ranks;
+
+    private SortOrders(int size, int[][] permutations, int[][] ranks) {
+        this.size = size;
+        this.permutations = permutations;
+        this.ranks = ranks;
+    }
+
+    /**
+     * Construit les permutations de tous les modes de tri.
+     * Opération coûteuse, à exécuter hors du thread principal.
+     *
+     * @param tracks Morceaux du catalogue, dans l'ordre du catalogue
+     * @return Ordres de tri prêts à être appliqués
+     */
+    public static SortOrders build(List<Track> tracks) {
+        int n = tracks.size();
+        // Insensible à la casse et aux accents, règles françaises (valables aussi pour l'italien)
+        Collator collator = Collator.getInstance(Locale.FRENCH);
+        collator.setStrength(Collator.PRIMARY);
+
+        CollationKey[] titles = new CollationKey[n];
+        CollationKey[] artists = new CollationKey[n];
+        CollationKey[] albums = new CollationKey[n];
+        int[] years = new int[n];
+        int[] durations = new int[n];
+        for (int i = 0; i < n; i++) {
+            Track track = tracks.get(i);
+            titles[i] = collator.getCollationKey(nonNull(track.title));
+            artists[i] = collator.getCollationKey(nonNull(track.artist));
+            albums[i] = collator.getCollationKey(nonNull(track.album));
+            years[i] = track.getYear();
+            durations[i] = track.getDurationSeconds();
+        }
+
+        int[][] permutations = new int[MODE_COUNT][];
+        int[][] ranks = new int[MODE_COUNT][];
+        permutations[SORT_TITLE] = permutation(n, (a, b) -> titles[a].compareTo(titles[b]));
+        permutations[SORT_ARTIST] = permutation(n, (a, b) -> {
+            int c = artists[a].compareTo(artists[b]);
+            return c != 0 ? c : albums[a].compareTo(albums[b]);
+        });
+        permutations[SORT_ALBUM] = permutation(n, (a, b) -> albums[a].compareTo(albums[b]));
+        permutations[SORT_YEAR] = permutation(n, (a, b) -> Integer.compare(years[b], years[a]));
+        permutations[SORT_DURATION] = permutation(n, (a, b) -> Integer.compare(durations[a], durations[b]));
+
+        for (int mode = SORT_TITLE; mode < MODE_COUNT; mode++) {
+            int[] permutation = permutations[mode];
+            int[] rank = new int[n];
+            for (int r = 0; r < n; r++) {
+                rank[permutation[r]] = r;
+            }
+            ranks[mode] = rank;
+        }
+        return new SortOrders(n, permutations, ranks);
+    }
+
+    /**
+     * Trie stablement les positions 0..n-1 ; à égalité, l'ordre du catalogue est conservé.
+     */
+    private static int[] permutation(int n, Comparator<Integer> comparator) {
+        Integer[] boxed = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, comparator);
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = boxed[i];
+        }
+        return result;
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Retourne le nombre de morceaux couverts par ces ordres de tri.
+     *
+     * @return Nombre de morceaux
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Réordonne un ensemble de positions selon un mode de tri.
+     * Un grand résultat est obtenu en parcourant la permutation avec un marquage
+     * par bits (O(n)) ; un petit résultat en triant ses rangs entiers (O(k log k)).
+     *
+     * @param mode Mode de tri (SORT_*)
+     * @param ordinals Positions des morceaux, sans doublon
+     * @return Nouveau tableau trié, ou le tableau reçu pour {@link #SORT_DEFAULT}
+     */
+    public int[] sort(int mode, int[] ordinals) {
+        if (mode <= SORT_DEFAULT || mode >= MODE_COUNT || ordinals.length <= 1) {
+            return ordinals;
+        }
+        int[] permutation = permutations[mode];
+        int[] rank = ranks[mode];
+        int k = ordinals.length;
+        int[] result = new int[k];
+
+        if ((long) k * SPARSE_RATIO < size) {
+            for (int i = 0; i < k; i++) {
+                result[i] = rank[ordinals[i]];
+            }
+            Arrays.sort(result);
+            for (int i = 0; i < k; i++) {
+                result[i] = permutation[result[i]];
+            }
+            return result;
+        }
+
+        long[] marks = new long[(size + 63) >>> 6];
+        for (int ordinal : ordinals) {
+            marks[ordinal >>> 6] |= 1L << ordinal;
+        }
+        int count = 0;
+        for (int r = 0; r < size && count < k; r++) {
+            int ordinal = permutation[r];
+            if ((marks[ordinal >>> 6] & (1L << ordinal)) != 0) {
+                result[count++] = ordinal;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Index de complétion des mots des titres, artistes et albums.
+ * Les mots normalisés sont triés : ceux qui commencent par un préfixe forment une
+ * plage contiguë, trouvée par recherche dichotomique. Un arbre de segments donne
+ * le mot le plus fréquent d'une sous-plage, ce qui permet d'extraire les N meilleures
+ * complétions sans parcourir la plage. Construit une fois par version du catalogue.
+ */
+public final class SuggestionIndex {
+    /** Nombre de suggestions proposées par défaut */
+    public static final int DEFAULT_LIMIT = 8;
+
+    /** Mots normalisés, triés */
+    private final String[] terms;
+    /** Forme affichée de chaque mot (première graphie rencontrée, accents conservés) */
+    private final String[] labels;
+    /** Nombre de morceaux contenant chaque mot */
+    private final int[] weights;
+    /** Arbre de segments itératif : tree[leaves + i] = i, nœud interne = indice du plus lourd */
+    private final int[] tree;
+    private final int leaves;
+
+    private SuggestionIndex(String[] terms, String[] labels, int[] weights) {
+        this.terms = terms;
+        this.labels = labels;
+        this.weights = weights;
+        int size = 1;
+        while (size < Math.max(1, terms.length)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < terms.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Construit l'index à partir des titres, artistes et albums.
+     * Le poids d'un mot est le nombre de morceaux qui le contiennent.
+     *
+     * @param tracks Morceaux du catalogue
+     * @return Index prêt à être interrogé
+     */
+    public static SuggestionIndex build(List<Track> tracks) {
+        Map<String, int[]> weightByTerm = new HashMap<>();
+        Map<String, String> labelByTerm = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        List<String> words = new ArrayList<>();
+
+        for (Track track : tracks) {
+            seen.clear();
+            words.clear();
+            splitWords(track.title, words);
+            splitWords(track.artist, words);
+            splitWords(track.album, words);
+            for (String word : words) {
+                String term = TextNormalizer.normalize(word);
+                if (term.isEmpty() || !seen.add(term)) {
+                    continue; // Un mot compte une seule fois par morceau
+                }
+                int[] weight = weightByTerm.get(term);
+                if (weight == null) {
+                    weightByTerm.put(term, new int[] { 1 });
+                    labelByTerm.put(term, word);
+                } else {
+                    weight[0]++;
+                }
+            }
+        }
+
+        String[] terms = weightByTerm.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        String[] labels = new String[terms.length];
+        int[] weights = new int[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            labels[i] = labelByTerm.get(terms[i]);
+            weights[i] = weightByTerm.get(terms[i])[0];
+        }
+        return new SuggestionIndex(terms, labels, weights);
+    }
+
+    /**
+     * Découpe un texte en mots (lettres et chiffres), en minuscules, accents conservés.
+     */
+    private static void splitWords(String text, List<String> out) {
+        if (text == null) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                out.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Retourne les mots les plus fréquents commençant par un préfixe.
+     *
+     * @param prefix Début de mot saisi (normalisé ici)
+     * @param limit Nombre maximal de suggestions
+     * @return Formes affichées des mots, du plus fréquent au moins fréquent
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix);
+        List<String> result = new ArrayList<>(limit);
+        if (key.isEmpty() || limit <= 0) {
+            return result;
+        }
+        int lo = lowerBound(key);
+        int hi = lo;
+        // Fin de plage : premier mot qui ne commence plus par le préfixe
+        int end = terms.length;
+        while (hi < end) {
+            int mid = (hi + end) >>> 1;
+            if (terms[mid].startsWith(key)) {
+                hi = mid + 1;
+            } else {
+                end = mid;
+            }
+        }
+        if (lo >= hi) {
+            return result;
+        }
+
+        // Extraction des N plus lourds : chaque plage est découpée autour de son maximum
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> {
+            int c = Integer.compare(weights[b[2]], weights[a[2]]);
+            return c != 0 ? c : Integer.compare(a[2], b[2]);
+        });
+        ranges.add(new int[] { lo, hi, argMax(lo, hi) });
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            result.add(labels[best]);
+            if (range[0] < best) {
+                ranges.add(new int[] { range[0], best, argMax(range[0], best) });
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[] { best + 1, range[1], argMax(best + 1, range[1]) });
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Premier indice dont le mot est supérieur ou égal à la clé.
+     */
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = terms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Indice du mot le plus fréquent de la plage [from, to), en O(log n).
+     */
+    private int argMax(int from, int to) {
+        int best = -1;
+        for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = heavier(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = heavier(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Retourne le plus fréquent de deux mots, le premier dans l'ordre alphabétique à égalité.
+     */
+    private int heavier(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        if (weights[a] != weights[b]) {
+            return weights[a] > weights[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.sproutify.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Paroles synchronisées au format LRC : chaque ligne de Track.contentLines peut commencer
+ * par une ou plusieurs balises de temps ("[mm:ss.xx]"), éventuellement précédées de balises
+ * d'information ("[ar:...]", "[offset:...]").
+ * Les lignes sont rangées par ordre chronologique dans deux tableaux parallèles (instants
+ * et textes) ; la ligne correspondant à une position de lecture se trouve par recherche
+ * dichotomique, sans aucune allocation.
+ */
+public final class SyncedLyrics {
+    /** Instant de début de chaque ligne, en millisecondes, par ordre croissant */
+    private final int[] startTimes;
+    /** Texte de chaque ligne, dans le même ordre */
+    private final String[] lines;
+
+    private SyncedLyrics(int[] startTimes, String[] lines) {
+        this.startTimes = startTimes;
+        this.lines = lines;
+    }
+
+    /**
+     * Analyse des paroles au format LRC.
+     *
+     * @param contentLines Paroles du morceau, lignes séparées par LyricsIndex.LINE_SEPARATOR
+     * @return Paroles synchronisées, null si aucune ligne ne porte de balise de temps
+     */
+    public static SyncedLyrics parse(String contentLines) {
+        if (contentLines == null || contentLines.indexOf('[') < 0) {
+            return null;
+        }
+        List<String> texts = new ArrayList<>();
+        IntList times = new IntList();
+        IntList textIndexes = new IntList();
+        int offset = 0;
+        int start = 0;
+        while (start <= contentLines.length()) {
+            int end = contentLines.indexOf(LyricsIndex.LINE_SEPARATOR, start);
+            if (end < 0) {
+                end = contentLines.length();
+            }
+            String line = contentLines.substring(start, end).trim();
+            start = end + 1;
+
+            int firstTime = times.size();
+            int pos = 0;
+            while (pos < line.length() && line.charAt(pos) == '[') {
+                int close = line.indexOf(']', pos);
+                if (close < 0) {
+                    break;
+                }
+                String tag = line.substring(pos + 1, close);
+                int time = parseTime(tag);
+                if (time >= 0) {
+                    times.add(time);
+                } else if (tag.startsWith("offset:")) {
+                    offset = parseOffset(tag.substring(7));
+                }
+                pos = close + 1;
+            }
+            if (times.size() == firstTime) {
+                continue; // Ligne non synchronisée ou balise d'information
+            }
+            texts.add(line.substring(pos).trim());
+            for (int i = firstTime; i < times.size(); i++) {
+                textIndexes.add(texts.size() - 1);
+            }
+        }
+        if (times.size() == 0) {
+            return null;
+        }
+
+        // Tri chronologique : instant dans les bits de poids fort, rang d'origine ensuite
+        long[] order = new long[times.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (long) Math.max(0, times.get(i) - offset) << 32 | i;
+        }
+        Arrays.sort(order);
+        int[] startTimes = new int[order.length];
+        String[] lines = new String[order.length];
+        for (int i = 0; i < order.length; i++) {
+            startTimes[i] = (int) (order[i] >>> 32);
+            lines[i] = texts.get(textIndexes.get((int) order[i]));
+        }
+        return new SyncedLyrics(startTimes, lines);
+    }
+
+    /**
+     * Lit une balise de temps "mm:ss", "mm:ss.xx" ou "mm:ss.xxx".
+     *
+     * @return Instant en millisecondes, -1 si la balise n'est pas une balise de temps
+     */
+    private static int parseTime(String tag) {
+        int colon = tag.indexOf(':');
+        if (colon <= 0) {
+            return -1;
+        }
+        int minutes = parseDigits(tag, 0, colon);
+        int dot = tag.indexOf('.', colon);
+        int secondsEnd = dot < 0 ? tag.length() : dot;
+        int seconds = parseDigits(tag, colon + 1, secondsEnd);
+        if (minutes < 0 || seconds < 0 || seconds >= 60) {
+            return -1;
+        }
+        int millis = 0;
+        if (dot >= 0) {
+            int fraction = parseDigits(tag, dot + 1, tag.length());
+            int digits = tag.length() - dot - 1;
+            if (fraction < 0 || digits > 3) {
+                return -1;
+            }
+            millis = digits == 1 ? fraction * 100 : digits == 2 ? fraction * 10 : fraction;
+        }
+        return (minutes * 60 + seconds) * 1000 + millis;
+    }
+
+    private static int parseDigits(String text, int from, int to) {
+        if (from >= to || to - from > 6) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int parseOffset(String value) {
+        try {
+            return Integer.parseInt(value.trim().replace("+", ""));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @return Nombre de lignes synchronisées
+     */
+    public int size() {
+        return lines.length;
+    }
+
+    /**
+     * @param index Rang de la ligne
+     * @return Texte de la ligne
+     */
+    public String getLine(int index) {
+        return lines[index];
+    }
+
+    /**
+     * @param index Rang de la ligne
+     * @return Instant de début de la ligne, en millisecondes
+     */
+    public int getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    /**
+     * Retourne la ligne chantée à une position de lecture (recherche dichotomique).
+     *
+     * @param positionMs Position de lecture en millisecondes
+     * @return Rang de la dernière ligne commencée, -1 avant la première ligne
+     */
+    public int lineAt(long positionMs) {
+        int low = 0;
+        int high = startTimes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (startTimes[mid] <= positionMs) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.sproutify.data;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalisation du texte pour la recherche.
+ * Met le texte en minuscules et retire les accents pour que "Où" et "ou"
+ * désignent le même terme, puis découpe le résultat en mots.
+ */
+public final class TextNormalizer {
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation
+     * La classe est utilisée uniquement via ses méthodes statiques
+     */
+    private TextNormalizer() { }
+
+    /**
+     * Normalise une chaîne : décomposition Unicode, suppression des diacritiques
+     * et passage en minuscules.
+     *
+     * @param text Texte brut (peut être null)
+     * @return Texte normalisé, chaîne vide si le texte est null
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Découpe un texte en termes normalisés.
+     * Tout caractère qui n'est ni une lettre ni un chiffre sert de séparateur.
+     *
+     * @param text Texte brut
+     * @param out Liste à laquelle les termes sont ajoutés
+     * @return Nombre de termes ajoutés
+     */
+    public static int tokenize(String text, List<String> out) {
+        String normalized = normalize(text);
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length()
+                    && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                out.add(normalized.substring(start, i));
+                count++;
+                start = -1;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.sproutify.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.sproutify.model.Track;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Catalogue des morceaux partagé par toute l'application (pattern Singleton).
+ * Conserve la liste chargée depuis le CSV avec un numéro de version incrémenté
+ * à chaque chargement, et construit en arrière-plan les index de recherche
+ * associés à cette version.
+ */
+public final class TrackCatalog {
+    private static final String TAG = "TrackCatalog";
+    private static final String CATALOG_DIR = "catalog";
+    private static final String COVER_SIGNATURES_FILE = "covers.sig";
+
+    /**
+     * Interface de callback pour être prévenu qu'un index est disponible
+     */
+    public interface OnIndexReadyListener {
+        /**
+         * Appelé sur le thread principal quand un index de la version courante est prêt.
+         * @param catalog Catalogue dont l'index vient d'être publié
+         */
+        void onIndexReady(TrackCatalog catalog);
+    }
+
+    private static TrackCatalog instance;
+
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<OnIndexReadyListener> listeners = new CopyOnWriteArrayList<>();
+    private final CoverSignatures coverSignatures = new CoverSignatures();
+
+    private volatile File catalogDir;
+    private volatile List<Track> tracks = Collections.emptyList();
+    private volatile int version = 0;
+    private volatile GroupIndex artistIndex;
+    private volatile GroupIndex albumIndex;
+    private volatile SortOrders sortOrders;
+    private volatile FacetEngine facetEngine;
+    private volatile SearchIndex searchIndex;
+    private volatile SuggestionIndex suggestionIndex;
+    private volatile LyricsIndex lyricsIndex;
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private TrackCatalog() { }
+
+    /**
+     * Obtient l'instance unique du catalogue
+     * @return Instance unique du TrackCatalog
+     */
+    public static synchronized TrackCatalog getInstance() {
+        if (instance == null) {
+            instance = new TrackCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Initialise le répertoire où sont persistés les index, à côté du catalogue,
+     * et relit les signatures de couleur des pochettes.
+     * À appeler avant le premier {@link #setTracks(List)} ; sans cela les index
+     * sont reconstruits en mémoire à chaque démarrage.
+     * @param context Contexte de l'application
+     */
+    public void init(Context context) {
+        if (catalogDir == null) {
+            catalogDir = new File(context.getApplicationContext().getFilesDir(), CATALOG_DIR);
+            coverSignatures.init(new File(catalogDir, COVER_SIGNATURES_FILE));
+        }
+    }
+
+    /**
+     * Remplace le contenu du catalogue et lance la construction des index.
+     * Doit être appelé depuis le thread principal.
+     * @param newTracks Morceaux chargés depuis le CSV
+     */
+    public void setTracks(List<Track> newTracks) {
+        final List<Track> snapshot = Collections.unmodifiableList(new ArrayList<>(newTracks));
+        final int builtVersion = version + 1;
+        tracks = snapshot;
+        version = builtVersion;
+        artistIndex = null;
+        albumIndex = null;
+        sortOrders = null;
+        facetEngine = null;
+        searchIndex = null;
+        suggestionIndex = null;
+        lyricsIndex = null;
+        SearchResultCache.getInstance().clear(); // Résultats de l'ancienne version inutilisables
+
+        indexExecutor.execute(() -> {
+            // Regroupements d'abord : peu coûteux et attendus par les vues Artiste / Album
+            GroupIndex artists = GroupIndex.build(snapshot, track -> track.artist);
+            GroupIndex albums = GroupIndex.build(snapshot, track -> track.album);
+            publish(builtVersion, () -> {
+                artistIndex = artists;
+                albumIndex = albums;
+            });
+
+            FacetEngine facets = FacetEngine.build(snapshot, artists, albums);
+            publish(builtVersion, () -> facetEngine = facets);
+
+            SortOrders orders = SortOrders.build(snapshot);
+            publish(builtVersion, () -> sortOrders = orders);
+
+            SearchIndex search = loadOrBuildSearchIndex(snapshot);
+            publish(builtVersion, () -> searchIndex = search);
+
+            SuggestionIndex suggestions = SuggestionIndex.build(snapshot);
+            publish(builtVersion, () -> suggestionIndex = suggestions);
+
+            long start = System.currentTimeMillis();
+            LyricsIndex index = LyricsIndex.build(snapshot);
+            Log.d(TAG, "Index des paroles construit en " + (System.currentTimeMillis() - start)
+                    + " ms pour " + snapshot.size() + " morceaux");
+            publish(builtVersion, () -> lyricsIndex = index);
+        });
+    }
+
+    /**
+     * Relit l'index de recherche persisté pour ce contenu de catalogue, ou le construit
+     * et l'écrit sur disque. L'index retourné est projeté en mémoire depuis le fichier :
+     * ses pages ne sont chargées qu'au fil des recherches et n'occupent pas le tas Java.
+     * @param snapshot Morceaux du catalogue
+     * @return Index de recherche
+     */
+    private SearchIndex loadOrBuildSearchIndex(List<Track> snapshot) {
+        File dir = catalogDir;
+        if (dir == null) {
+            return SearchIndex.build(snapshot);
+        }
+        File file = SearchIndexStore.fileFor(dir, fingerprint(snapshot));
+        SearchIndex stored = SearchIndexStore.open(file);
+        if (stored != null && stored.getDocCount() == snapshot.size()) {
+            return stored;
+        }
+
+        long start = System.currentTimeMillis();
+        SearchIndex built = SearchIndex.build(snapshot);
+        Log.d(TAG, "Index de recherche construit en " + (System.currentTimeMillis() - start) + " ms");
+        if (SearchIndexStore.save(built, file)) {
+            SearchIndex mapped = SearchIndexStore.open(file);
+            if (mapped != null) {
+                return mapped; // Libère la copie construite dans le tas
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Calcule l'empreinte du contenu indexé du catalogue, qui identifie le fichier
+     * d'index sur disque d'un démarrage à l'autre.
+     * @param snapshot Morceaux du catalogue
+     * @return Empreinte CRC32 combinée au nombre de morceaux
+     */
+    private static long fingerprint(List<Track> snapshot) {
+        CRC32 crc = new CRC32();
+        for (Track track : snapshot) {
+            updateCrc(crc, track.title);
+            updateCrc(crc, track.artist);
+            updateCrc(crc, track.album);
+        }
+        return ((long) snapshot.size() << 32) | crc.getValue();
+    }
+
+    private static void updateCrc(CRC32 crc, String value) {
+        if (value != null) {
+            crc.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        crc.update('#'); // Séparateur de champs, comme dans le CSV
+    }
+
+    /**
+     * Publie un index sur le thread principal s'il correspond toujours à la version courante.
+     * @param builtVersion Version du catalogue pour laquelle l'index a été construit
+     * @param apply Affectation de l'index
+     */
+    private void publish(int builtVersion, Runnable apply) {
+        mainHandler.post(() -> {
+            if (builtVersion != version) {
+                return; // Catalogue rechargé entre-temps, index obsolète
+            }
+            apply.run();
+            for (OnIndexReadyListener listener : listeners) {
+                listener.onIndexReady(this);
+            }
+        });
+    }
+
+    /**
+     * Récupère les morceaux de la version courante
+     * @return Liste non modifiable des morceaux
+     */
+    public List<Track> getTracks() {
+        return tracks;
+    }
+
+    /**
+     * Récupère la version courante du catalogue
+     * @return Numéro de version, incrémenté à chaque chargement
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Récupère le regroupement des morceaux par artiste de la version courante
+     * @return Index des artistes, ou null s'il est encore en construction
+     */
+    public GroupIndex getArtistIndex() {
+        return artistIndex;
+    }
+
+    /**
+     * Récupère le regroupement des morceaux par album de la version courante
+     * @return Index des albums, ou null s'il est encore en construction
+     */
+    public GroupIndex getAlbumIndex() {
+        return albumIndex;
+    }
+
+    /**
+     * Récupère le moteur de filtres combinés de la version courante
+     * @return Moteur de facettes, ou null s'il est encore en construction
+     */
+    public FacetEngine getFacetEngine() {
+        return facetEngine;
+    }
+
+    /**
+     * Récupère les ordres de tri précalculés de la version courante
+     * @return Ordres de tri, ou null s'ils sont encore en construction
+     */
+    public SortOrders getSortOrders() {
+        return sortOrders;
+    }
+
+    /**
+     * Récupère l'index de recherche classée (titre, artiste, album) de la version courante
+     * @return Index de recherche, ou null s'il est encore en construction
+     */
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Récupère l'index de complétion des mots de la version courante
+     * @return Index des suggestions, ou null s'il est encore en construction
+     */
+    public SuggestionIndex getSuggestionIndex() {
+        return suggestionIndex;
+    }
+
+    /**
+     * Récupère les signatures de couleur des pochettes (indépendantes de la version)
+     * @return Signatures connues, complétées au fil des décodages
+     */
+    public CoverSignatures getCoverSignatures() {
+        return coverSignatures;
+    }
+
+    /**
+     * Récupère l'index des paroles de la version courante
+     * @return Index des paroles, ou null s'il est encore en construction
+     */
+    public LyricsIndex getLyricsIndex() {
+        return lyricsIndex;
+    }
+
+    /**
+     * Ajoute un listener prévenu à chaque publication d'index
+     * @param listener Listener à ajouter
+     */
+    public void addOnIndexReadyListener(OnIndexReadyListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Retire un listener précédemment ajouté
+     * @param listener Listener à retirer
+     */
+    public void removeOnIndexReadyListener(OnIndexReadyListener listener) {
+        listeners.remove(listener);
+    }
+}
@@ -53,6 +53,75 @@ public class Track implements Parcelable {
         this.duration = duration;
     }
 
+    /**
+     * Convertit la durée du CSV, exprimée en minutes décimales (ex. "3.90" pour 3,9 minutes),
+     * en secondes.
+     *
+     * @return Durée en secondes, 0 si le format n'est pas reconnu
+     */
+    public int getDurationSeconds() {
+        if (duration == null || duration.isEmpty()) {
+            return 0;
+        }
+        try {
+            float minutes = Float.parseFloat(duration.trim());
+            if (Float.isNaN(minutes) || Float.isInfinite(minutes) || minutes < 0) {
+                return 0;
+            }
+            return Math.round(minutes * 60);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Retourne un identifiant numérique stable du morceau, utilisable par les adaptateurs
+     * de RecyclerView : l'identifiant lui-même s'il est numérique (numéro de ligne du CSV),
+     * son empreinte sinon.
+     *
+     * @return Identifiant numérique du morceau
+     */
+    public long getStableId() {
+        if (id == null || id.isEmpty() || id.length() > 18) {
+            return id != null ? id.hashCode() : 0;
+        }
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return id.hashCode();
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Extrait l'année de la date de sortie (première suite de quatre chiffres).
+     *
+     * @return Année de sortie, 0 si la date n'en contient pas
+     */
+    public int getYear() {
+        if (date == null) {
+            return 0;
+        }
+        int digits = 0;
+        int value = 0;
+        for (int i = 0; i < date.length(); i++) {
+            char c = date.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits == 4 && (i + 1 == date.length() || !Character.isDigit(date.charAt(i + 1)))) {
+                    return value;
+                }
+            } else {
+                digits = 0;
+                value = 0;
+            }
+        }
+        return 0;
+    }
+
     /**
      * Constructeur utilisé pour la désérialisation d'un Parcel.
      * 
@@ -6,6 +6,7 @@ import android.media.MediaPlayer;
 import android.net.Uri;
 import android.os.Binder;
 import android.os.IBinder;
+import android.os.SystemClock;
 import android.util.Log;
 
 import com.example.sproutify.data.MusicPlayerState;
@@ -23,6 +24,8 @@ public class MusicService extends Service {
     private static final String TAG = "MusicService";
     private MediaPlayer mediaPlayer;
     private boolean isPrepared = false;
+    /** Morceau chargé dans le MediaPlayer, null s'il n'y en a pas */
+    private Track currentTrack;
     private OnPlaybackStateChangeListener playbackListener;
     private int currentVolume = 50; // Volume par défaut à 50%
 
@@ -49,6 +52,43 @@ public class MusicService extends Service {
         void onTrackChanged(Track track);
     }
 
+    /**
+     * État de la lecture relevé à un instant donné : la position à tout autre instant
+     * s'en déduit sans interroger le MediaPlayer, tant que l'état ne change pas.
+     */
+    public static final class PlaybackSnapshot {
+        /** Position de lecture au moment du relevé, en millisecondes */
+        public final int positionMs;
+        /** Instant du relevé (horloge SystemClock.uptimeMillis, celle du Choreographer) */
+        public final long uptimeMs;
+        /** Vitesse de lecture (0 en pause) */
+        public final float speed;
+        /** Durée du morceau en millisecondes (0 si inconnue) */
+        public final int durationMs;
+
+        PlaybackSnapshot(int positionMs, long uptimeMs, float speed, int durationMs) {
+            this.positionMs = positionMs;
+            this.uptimeMs = uptimeMs;
+            this.speed = speed;
+            this.durationMs = durationMs;
+        }
+
+        /**
+         * Position de lecture estimée à un instant donné.
+         * @param nowUptimeMs Instant voulu (horloge SystemClock.uptimeMillis)
+         * @return Position en millisecondes, bornée par la durée du morceau
+         */
+        public int positionAt(long nowUptimeMs) {
+            long position = positionMs + (long) ((nowUptimeMs - uptimeMs) * speed);
+            if (durationMs > 0) {
+                position = Math.min(position, durationMs);
+            }
+            return (int) Math.max(0, position);
+        }
+    }
+
+    private volatile PlaybackSnapshot snapshot = new PlaybackSnapshot(0, 0, 0f, 0);
+
     private final IBinder binder = new MusicBinder();
 
     /**
@@ -97,19 +137,13 @@ public class MusicService extends Service {
                     }
                     return;
                 }
-                if (playbackListener != null) {
-                    Log.d(TAG, "onPrepared: Notification du listener");
-                    playbackListener.onPlaybackStateChanged(true);
-                }
+                notifyPlaybackStateChanged(true);
             });
 
             mediaPlayer.setOnCompletionListener(mp -> {
                 Log.d(TAG, "onCompletion: Lecture terminée");
                 isPrepared = false;
-                if (playbackListener != null) {
-                    Log.d(TAG, "onCompletion: Notification du listener");
-                    playbackListener.onPlaybackStateChanged(false);
-                }
+                notifyPlaybackStateChanged(false);
                 playNext();
             });
 
@@ -153,6 +187,54 @@ public class MusicService extends Service {
         return binder;
     }
 
+    /**
+     * Publie l'état de lecture dans MusicPlayerState (observé par tous les écrans)
+     * puis prévient le listener de l'écran qui pilote la lecture.
+     * @param playing true si la lecture est en cours
+     */
+    private void notifyPlaybackStateChanged(boolean playing) {
+        captureSnapshot();
+        MusicPlayerState.getInstance().setPlaying(playing);
+        if (playbackListener != null) {
+            playbackListener.onPlaybackStateChanged(playing);
+        }
+    }
+
+    /**
+     * Relève la position, la vitesse et la durée du MediaPlayer.
+     * Appelé à chaque changement d'état (lecture, pause, déplacement, fin de morceau).
+     */
+    private void captureSnapshot() {
+        long now = SystemClock.uptimeMillis();
+        if (mediaPlayer == null || !isPrepared) {
+            snapshot = new PlaybackSnapshot(0, now, 0f, 0);
+            return;
+        }
+        try {
+            float speed = mediaPlayer.isPlaying() ? mediaPlayer.getPlaybackParams().getSpeed() : 0f;
+            snapshot = new PlaybackSnapshot(mediaPlayer.getCurrentPosition(), now, speed, mediaPlayer.getDuration());
+        } catch (IllegalStateException e) {
+            snapshot = new PlaybackSnapshot(0, now, 0f, 0);
+        }
+    }
+
+    /**
+     * Retourne le dernier état relevé de la lecture, sans interroger le MediaPlayer.
+     * @return Relevé à partir duquel interpoler la position
+     */
+    public PlaybackSnapshot getPlaybackSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Retourne le morceau de la session de lecture en cours (en préparation, en lecture
+     * ou en pause), pour qu'un écran recréé s'y rattache sans le recharger.
+     * @return Morceau chargé, null si aucun morceau n'est chargé
+     */
+    public Track getCurrentTrack() {
+        return currentTrack;
+    }
+
     /**
      * Définit le listener pour les changements d'état de lecture.
      * @param listener Listener à définir
@@ -182,24 +264,25 @@ public class MusicService extends Service {
             if (mediaPlayer != null) {
                 mediaPlayer.release();
             }
+            currentTrack = null;
             mediaPlayer = new MediaPlayer();
             mediaPlayer.setDataSource(this, Uri.parse(track.mp3Url));
             mediaPlayer.prepareAsync();
             isPrepared = false;
+            currentTrack = track;
+            snapshot = new PlaybackSnapshot(0, SystemClock.uptimeMillis(), 0f, 0);
 
             mediaPlayer.setOnPreparedListener(mp -> {
                 isPrepared = true;
                 mp.start();
+                notifyPlaybackStateChanged(true);
                 if (playbackListener != null) {
-                    playbackListener.onPlaybackStateChanged(true);
                     playbackListener.onTrackChanged(track);
                 }
             });
 
             mediaPlayer.setOnCompletionListener(mp -> {
-                if (playbackListener != null) {
-                    playbackListener.onPlaybackStateChanged(false);
-                }
+                notifyPlaybackStateChanged(false);
                 playNext();
             });
 
@@ -230,6 +313,7 @@ public class MusicService extends Service {
                 mediaPlayer.reset();
                 Log.d(TAG, "reset: MediaPlayer réinitialisé avec succès");
                 isPrepared = false;
+                currentTrack = null;
             } catch (Exception e) {
                 Log.e(TAG, "reset: Erreur lors de la réinitialisation", e);
             }
@@ -246,9 +330,7 @@ public class MusicService extends Service {
             try {
                 mediaPlayer.start();
                 Log.d(TAG, "start: MediaPlayer démarré");
-                if (playbackListener != null) {
-                    playbackListener.onPlaybackStateChanged(true);
-                }
+                notifyPlaybackStateChanged(true);
             } catch (Exception e) {
                 Log.e(TAG, "start: Erreur de démarrage", e);
             }
@@ -264,9 +346,7 @@ public class MusicService extends Service {
             try {
                 mediaPlayer.pause();
                 Log.d(TAG, "pause: MediaPlayer mis en pause");
-                if (playbackListener != null) {
-                    playbackListener.onPlaybackStateChanged(false);
-                }
+                notifyPlaybackStateChanged(false);
             } catch (Exception e) {
                 Log.e(TAG, "pause: Erreur lors de la mise en pause", e);
             }
@@ -282,6 +362,10 @@ public class MusicService extends Service {
             try {
                 mediaPlayer.seekTo(position);
                 Log.d(TAG, "seekTo: Position définie à " + position);
+                // Le déplacement est asynchrone : la position demandée sert de référence
+                PlaybackSnapshot previous = snapshot;
+                snapshot = new PlaybackSnapshot(position, SystemClock.uptimeMillis(),
+                        previous.speed, previous.durationMs);
             } catch (Exception e) {
                 Log.e(TAG, "seekTo: Erreur lors du changement de position", e);
             }
@@ -369,9 +453,7 @@ public class MusicService extends Service {
             playTrack(nextTrack);
         } else {
             Log.d(TAG, "playNext: Pas de morceau suivant disponible");
-            if (playbackListener != null) {
-                playbackListener.onPlaybackStateChanged(false);
-            }
+            notifyPlaybackStateChanged(false);
         }
     }
 
@@ -385,9 +467,7 @@ public class MusicService extends Service {
             playTrack(previousTrack);
         } else {
             Log.d(TAG, "playPrevious: Pas de morceau précédent disponible");
-            if (playbackListener != null) {
-                playbackListener.onPlaybackStateChanged(false);
-            }
+            notifyPlaybackStateChanged(false);
         }
     }
 
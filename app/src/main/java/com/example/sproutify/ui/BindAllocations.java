@@ -0,0 +1,142 @@
+package com.example.sproutify.ui;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.os.Debug;
+import android.util.Log;
+
+/**
+ * Compte les objets alloués par le thread principal pendant la liaison des lignes d'une
+ * liste, pour les builds de débogage. Le compte de chaque liaison est relevé par
+ * {@link Debug#getThreadAllocCount()} puis résumé régulièrement dans le logcat
+ * (tag "BindAllocations") : moyenne et maximum par liaison, et nombre de liaisons qui ont
+ * alloué. Les demandes d'images, encadrées par {@link #pause()} et {@link #resume()}, ne sont
+ * pas comptées : une liaison doit n'allouer aucun objet en dehors d'elles une fois les caches
+ * chauds, sinon un avertissement est écrit.
+ * Le comptage ralentit les allocations de tout le processus : il n'est actif que tant qu'une
+ * liste mesurée est attachée à son RecyclerView, et jamais en production.
+ * Toutes les méthodes sont appelées sur le thread principal.
+ */
+// Debug.startAllocCounting() et getThreadAllocCount() sont dépréciées mais restent le seul
+// compte d'allocations par thread exposé par la plateforme ; elles ne servent qu'en débogage.
+@SuppressWarnings("deprecation")
+public final class BindAllocations {
+    private static final String TAG = "BindAllocations";
+    /** Nombre de liaisons par résumé */
+    private static final int WINDOW_SIZE = 500;
+    /** Nombre de listes mesurées actuellement attachées */
+    private static int activeLists;
+
+    private final String name;
+    private boolean started;
+    private int start;
+    private int pausedAt;
+    private int excluded;
+    private int binds;
+    private int allocatingBinds;
+    private long total;
+    private int max;
+
+    private BindAllocations(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Crée le compteur d'une liste si l'application est débogable.
+     * Le comptage ne commence qu'avec {@link #start()}.
+     *
+     * @param context Contexte de l'application
+     * @param name Nom de la liste mesurée, repris dans le logcat
+     * @return Instance à utiliser autour de chaque liaison, null en production
+     */
+    public static BindAllocations create(Context context, String name) {
+        if ((context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) == 0) {
+            return null;
+        }
+        return new BindAllocations(name);
+    }
+
+    /**
+     * Active le comptage des allocations, à appeler quand la liste est attachée à son RecyclerView.
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        if (activeLists++ == 0) {
+            Debug.startAllocCounting();
+        }
+    }
+
+    /**
+     * Arrête le comptage quand plus aucune liste mesurée n'est attachée,
+     * à appeler quand la liste est détachée de son RecyclerView.
+     */
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        if (--activeLists == 0) {
+            Debug.stopAllocCounting();
+        }
+    }
+
+    /**
+     * À appeler au début d'une liaison.
+     */
+    public void begin() {
+        excluded = 0;
+        start = Debug.getThreadAllocCount();
+    }
+
+    /**
+     * Suspend le compte de la liaison en cours, avant une demande d'image.
+     */
+    public void pause() {
+        pausedAt = Debug.getThreadAllocCount();
+    }
+
+    /**
+     * Reprend le compte de la liaison en cours après {@link #pause()}.
+     */
+    public void resume() {
+        excluded += Debug.getThreadAllocCount() - pausedAt;
+    }
+
+    /**
+     * À appeler à la fin de la liaison commencée par {@link #begin()}.
+     */
+    public void end() {
+        if (!started) {
+            return;
+        }
+        int allocations = Debug.getThreadAllocCount() - start - excluded;
+        if (allocations > 0) {
+            allocatingBinds++;
+            total += allocations;
+            max = Math.max(max, allocations);
+        }
+        if (++binds == WINDOW_SIZE) {
+            report();
+        }
+    }
+
+    /**
+     * Écrit le résumé des dernières liaisons dans le logcat et remet les compteurs à zéro.
+     */
+    private void report() {
+        String summary = name + " : " + binds + " liaisons, " + allocatingBinds + " avec allocations, "
+                + (Math.round(10.0 * total / binds) / 10.0) + " objets en moyenne, " + max + " au maximum";
+        if (allocatingBinds > 0) {
+            Log.w(TAG, summary);
+        } else {
+            Log.d(TAG, summary);
+        }
+        binds = 0;
+        allocatingBinds = 0;
+        total = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.sproutify.ui;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.sproutify.data.ImageLoader;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Précharge les pochettes des lignes sur le point d'apparaître pendant le défilement.
+ * Le nombre de lignes anticipées suit la vitesse de défilement, dans la direction du
+ * mouvement, et reste borné par un nombre maximal de lignes, de téléchargements simultanés
+ * et d'octets décodés. Les préchargements des lignes sorties de la fenêtre d'anticipation
+ * (dépassées ou laissées derrière après un changement de direction) sont abandonnés ;
+ * les lignes qui quittent l'écran annulent déjà leur propre demande (voir ImageLoader).
+ * La même fenêtre est transmise à la source pour qu'elle prépare le reste des lignes (textes).
+ */
+public final class CoverPreloader extends RecyclerView.OnScrollListener {
+    /** Lignes anticipées au maximum */
+    public static final int DEFAULT_MAX_AHEAD = 12;
+    /** Préchargements simultanés : deux, pour laisser au moins un thread du chargeur aux lignes visibles */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 2;
+    /** Octets décodés au maximum pour les lignes anticipées */
+    public static final long DEFAULT_MEMORY_BUDGET = 4L * 1024 * 1024;
+    /** Durée couverte par l'anticipation, en images (environ une demi-seconde) */
+    private static final int LOOKAHEAD_FRAMES = 30;
+    /** Lignes anticipées au minimum dès que la liste défile */
+    private static final int MIN_AHEAD = 2;
+
+    /**
+     * Source des pochettes à précharger, par position dans l'adaptateur.
+     */
+    public interface CoverSource {
+        /**
+         * @return Nombre d'éléments de la liste
+         */
+        int getItemCount();
+
+        /**
+         * @param position Position dans la liste
+         * @return URL de la pochette de cet élément (null s'il n'en a pas)
+         */
+        String getCoverUrl(int position);
+
+        /**
+         * @return Taille des pochettes affichées, en pixels
+         */
+        int getCoverSize();
+
+        /**
+         * Appelé à chaque défilement avec les lignes sur le point d'apparaître,
+         * pour préparer autre chose que les pochettes.
+         * @param from Première position anticipée
+         * @param to Dernière position anticipée (incluse)
+         */
+        default void onPrefetchWindow(int from, int to) {
+        }
+    }
+
+    private final ImageLoader loader;
+    private final LinearLayoutManager layoutManager;
+    private final CoverSource source;
+    private final int maxAhead;
+    private final int maxInFlight;
+    private final long memoryBudget;
+    /** Préchargements lancés et pas encore terminés : position -> URL */
+    private final Map<Integer, String> pending = new LinkedHashMap<>();
+    private int pendingSize;
+    private boolean pendingHardware;
+
+    /**
+     * Crée un préchargeur avec les limites par défaut.
+     *
+     * @param loader Chargeur d'images partagé
+     * @param layoutManager Gestionnaire de disposition de la liste
+     * @param source Pochettes de la liste
+     */
+    public CoverPreloader(ImageLoader loader, LinearLayoutManager layoutManager, CoverSource source) {
+        this(loader, layoutManager, source, DEFAULT_MAX_AHEAD, DEFAULT_MAX_IN_FLIGHT, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Crée un préchargeur.
+     *
+     * @param loader Chargeur d'images partagé
+     * @param layoutManager Gestionnaire de disposition de la liste
+     * @param source Pochettes de la liste
+     * @param maxAhead Nombre maximal de lignes anticipées
+     * @param maxInFlight Nombre maximal de préchargements simultanés (débit réseau)
+     * @param memoryBudget Octets décodés au maximum pour les lignes anticipées
+     */
+    public CoverPreloader(ImageLoader loader, LinearLayoutManager layoutManager, CoverSource source,
+                          int maxAhead, int maxInFlight, long memoryBudget) {
+        this.loader = loader;
+        this.layoutManager = layoutManager;
+        this.source = source;
+        this.maxAhead = maxAhead;
+        this.maxInFlight = maxInFlight;
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0) {
+            return;
+        }
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last < first) {
+            return;
+        }
+
+        // Vitesse en lignes par image, d'après la hauteur moyenne des lignes visibles
+        int rowHeight = Math.max(1, recyclerView.getHeight() / (last - first + 1));
+        int ahead = (int) Math.ceil((double) Math.abs(dy) * LOOKAHEAD_FRAMES / rowHeight);
+        int size = source.getCoverSize();
+        boolean hardware = loader.usesHardwareBitmaps(recyclerView.getContext());
+        long bytesPerCover = 4L * size * size;
+        ahead = Math.max(MIN_AHEAD, Math.min(ahead, maxAhead));
+        ahead = (int) Math.min(ahead, memoryBudget / Math.max(1, bytesPerCover));
+        if (size != pendingSize || hardware != pendingHardware) {
+            cancelAll(); // Autre mode d'affichage : les pochettes n'ont plus la même taille
+            pendingSize = size;
+            pendingHardware = hardware;
+        }
+        if (ahead <= 0) {
+            cancelAll();
+            return;
+        }
+
+        int count = source.getItemCount();
+        int from;
+        int to;
+        if (dy > 0) {
+            from = last + 1;
+            to = Math.min(count - 1, last + ahead);
+        } else {
+            from = first - 1;
+            to = Math.max(0, first - ahead);
+        }
+        dropOutside(Math.min(from, to), Math.max(from, to));
+        if (from >= 0 && from < count) {
+            source.onPrefetchWindow(Math.min(from, to), Math.max(from, to));
+        }
+
+        int step = dy > 0 ? 1 : -1;
+        for (int p = from; (step > 0 ? p <= to : p >= to) && pending.size() < maxInFlight; p += step) {
+            if (pending.containsKey(p)) {
+                continue;
+            }
+            String url = source.getCoverUrl(p);
+            if (loader.prefetch(url, size, hardware)) {
+                pending.put(p, url);
+            }
+        }
+    }
+
+    /**
+     * Abandonne tous les préchargements en cours (changement de liste, vue détruite).
+     */
+    public void cancelAll() {
+        for (String url : pending.values()) {
+            loader.cancelPrefetch(url, pendingSize, pendingHardware);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Oublie les préchargements terminés et abandonne ceux hors de la plage [from, to].
+     */
+    private void dropOutside(int from, int to) {
+        Iterator<Map.Entry<Integer, String>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, String> entry = it.next();
+            int position = entry.getKey();
+            if (position < from || position > to) {
+                loader.cancelPrefetch(entry.getValue(), pendingSize, pendingHardware);
+                it.remove();
+            } else if (!loader.isPrefetching(entry.getValue(), pendingSize, pendingHardware)) {
+                it.remove();
+            }
+        }
+    }
+}
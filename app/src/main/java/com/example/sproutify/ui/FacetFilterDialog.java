@@ -0,0 +1,253 @@
+package com.example.sproutify.ui;
+
+import android.content.Context;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.TypedValue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CheckedTextView;
+import android.widget.EditText;
+import android.widget.LinearLayout;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AlertDialog;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.sproutify.data.FacetEngine;
+import com.example.sproutify.data.IntList;
+import com.example.sproutify.data.TextNormalizer;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
+
+/**
+ * Boîte de dialogue des filtres combinés (artistes, albums, décennies, favoris).
+ * Les valeurs de la facette choisie sont affichées dans une liste recyclée, filtrable
+ * par nom ; chaque ligne indique le nombre de morceaux que la valeur retiendrait compte
+ * tenu des autres filtres. À chaque interaction, seuls les comptes de la facette affichée
+ * sont recalculés par le moteur de facettes, et seules les lignes visibles sont redessinées.
+ */
+public final class FacetFilterDialog {
+
+    /**
+     * Interface de callback pour suivre les changements de sélection
+     */
+    public interface OnSelectionChangedListener {
+        /**
+         * Appelé à chaque valeur cochée ou décochée
+         * @param selection Nouvelle sélection
+         */
+        void onSelectionChanged(FacetEngine.Selection selection);
+    }
+
+    private static final String[] FACET_TITLES = { "Artistes", "Albums", "Années" };
+
+    private final FacetEngine engine;
+    private final long[] favoritesBits;
+    private final OnSelectionChangedListener listener;
+    private final ValueAdapter adapter = new ValueAdapter();
+    private FacetEngine.Selection selection;
+    private int facet = FacetEngine.FACET_ARTIST;
+    private String normalizedQuery = "";
+
+    private FacetFilterDialog(FacetEngine engine, FacetEngine.Selection selection, long[] favoritesBits,
+                              OnSelectionChangedListener listener) {
+        this.engine = engine;
+        this.selection = selection;
+        this.favoritesBits = favoritesBits;
+        this.listener = listener;
+    }
+
+    /**
+     * Affiche la boîte de dialogue des filtres.
+     *
+     * @param context Contexte de l'activité
+     * @param engine Moteur de facettes de la version courante du catalogue
+     * @param selection Sélection actuelle
+     * @param favoritesBits Ensemble des favoris
+     * @param listener Callback appelé à chaque changement
+     */
+    public static void show(Context context, FacetEngine engine, FacetEngine.Selection selection,
+                            long[] favoritesBits, OnSelectionChangedListener listener) {
+        FacetFilterDialog dialog = new FacetFilterDialog(engine, selection, favoritesBits, listener);
+        new AlertDialog.Builder(context)
+                .setTitle("Filtres")
+                .setView(dialog.createContent(context))
+                .setPositiveButton("OK", null)
+                .setNeutralButton("Tout effacer", (d, which) ->
+                        listener.onSelectionChanged(FacetEngine.Selection.EMPTY))
+                .show();
+    }
+
+    /**
+     * Construit le contenu de la boîte de dialogue : favoris, choix de la facette,
+     * recherche parmi ses valeurs et liste des valeurs.
+     */
+    private View createContent(Context context) {
+        int padding = dp(context, 16);
+        LinearLayout content = new LinearLayout(context);
+        content.setOrientation(LinearLayout.VERTICAL);
+        content.setPadding(padding, padding / 2, padding, 0);
+
+        Chip favoritesChip = new Chip(context);
+        favoritesChip.setText("Favoris uniquement");
+        favoritesChip.setCheckable(true);
+        favoritesChip.setChecked(selection.isFavoritesOnly());
+        favoritesChip.setOnCheckedChangeListener((button, checked) ->
+                update(selection.withFavoritesOnly(checked)));
+        content.addView(favoritesChip);
+
+        ChipGroup facetGroup = new ChipGroup(context);
+        facetGroup.setSingleSelection(true);
+        facetGroup.setSelectionRequired(true);
+        for (int f = 0; f < FacetEngine.FACET_COUNT; f++) {
+            final int chosen = f;
+            Chip chip = new Chip(context);
+            chip.setText(FACET_TITLES[f]);
+            chip.setCheckable(true);
+            chip.setChecked(f == facet);
+            chip.setOnCheckedChangeListener((button, checked) -> {
+                if (checked) {
+                    facet = chosen;
+                    refreshValues();
+                }
+            });
+            facetGroup.addView(chip);
+        }
+        content.addView(facetGroup);
+
+        EditText searchField = new EditText(context);
+        searchField.setHint("Rechercher une valeur");
+        searchField.setSingleLine(true);
+        searchField.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                normalizedQuery = TextNormalizer.normalize(s.toString().trim());
+                refreshValues();
+            }
+        });
+        content.addView(searchField);
+
+        RecyclerView valueList = new RecyclerView(context);
+        valueList.setLayoutManager(new LinearLayoutManager(context));
+        valueList.setAdapter(adapter);
+        content.addView(valueList, new LinearLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, dp(context, 320)));
+
+        refreshValues();
+        return content;
+    }
+
+    /**
+     * Applique une nouvelle sélection et met à jour les comptes affichés.
+     */
+    private void update(FacetEngine.Selection newSelection) {
+        if (newSelection.equals(selection)) {
+            return;
+        }
+        selection = newSelection;
+        adapter.setCounts(engine.counts(facet, selection, favoritesBits));
+        listener.onSelectionChanged(selection);
+    }
+
+    /**
+     * Recalcule la liste des valeurs affichées (changement de facette ou de recherche).
+     */
+    private void refreshValues() {
+        int valueCount = engine.getValueCount(facet);
+        int[] values;
+        if (normalizedQuery.isEmpty()) {
+            values = null;
+        } else {
+            IntList matches = new IntList(16);
+            for (int value = 0; value < valueCount; value++) {
+                if (engine.valueContains(facet, value, normalizedQuery)) {
+                    matches.add(value);
+                }
+            }
+            values = matches.toArray();
+        }
+        adapter.setValues(values, valueCount, engine.counts(facet, selection, favoritesBits));
+    }
+
+    private static int dp(Context context, int value) {
+        return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value,
+                context.getResources().getDisplayMetrics());
+    }
+
+    /**
+     * Adaptateur des valeurs de la facette affichée. Le libellé et le compte d'une valeur
+     * ne sont mis en forme qu'à la liaison de sa ligne.
+     * Une valeur qui ne retiendrait aucun morceau est désactivée, sauf si elle est cochée.
+     */
+    private final class ValueAdapter extends RecyclerView.Adapter<ValueAdapter.ValueHolder> {
+        /** Valeurs affichées, null pour toutes les valeurs de la facette */
+        private int[] values;
+        private int valueCount;
+        private int[] counts = new int[0];
+
+        void setValues(int[] values, int valueCount, int[] counts) {
+            this.values = values;
+            this.valueCount = valueCount;
+            this.counts = counts;
+            notifyDataSetChanged();
+        }
+
+        void setCounts(int[] counts) {
+            this.counts = counts;
+            // Seules les lignes liées sont redessinées ; les autres liront les comptes à leur liaison
+            notifyItemRangeChanged(0, getItemCount());
+        }
+
+        private int valueAt(int position) {
+            return values != null ? values[position] : position;
+        }
+
+        @NonNull
+        @Override
+        public ValueHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            CheckedTextView view = (CheckedTextView) LayoutInflater.from(parent.getContext())
+                    .inflate(android.R.layout.simple_list_item_multiple_choice, parent, false);
+            ValueHolder holder = new ValueHolder(view);
+            view.setOnClickListener(v -> {
+                int position = holder.getBindingAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    int value = valueAt(position);
+                    update(selection.with(facet, value, !selection.isSelected(facet, value)));
+                }
+            });
+            return holder;
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull ValueHolder holder, int position) {
+            int value = valueAt(position);
+            boolean checked = selection.isSelected(facet, value);
+            holder.text.setText(engine.getValueLabel(facet, value) + " (" + counts[value] + ")");
+            holder.text.setChecked(checked);
+            holder.text.setEnabled(counts[value] > 0 || checked);
+        }
+
+        @Override
+        public int getItemCount() {
+            return values != null ? values.length : valueCount;
+        }
+
+        final class ValueHolder extends RecyclerView.ViewHolder {
+            final CheckedTextView text;
+
+            ValueHolder(@NonNull CheckedTextView itemView) {
+                super(itemView);
+                text = itemView;
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.sproutify.ui;
+
+import android.app.Activity;
+import android.content.pm.ApplicationInfo;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import java.util.Arrays;
+
+/**
+ * Mesure du temps de rendu des images d'une fenêtre, pour les builds de débogage.
+ * Les durées sont relevées via FrameMetrics sur un thread dédié puis résumées
+ * régulièrement dans le logcat (tag "FrameStats") : nombre d'images, images en retard
+ * sur le budget de l'écran (jank) et percentiles, ainsi que la part passée sur le thread
+ * principal (saisie, animation, mesure et mise en page, enregistrement du dessin).
+ * Permet de comparer le défilement et la saisie avant et après une optimisation.
+ */
+public final class FrameStats implements Window.OnFrameMetricsAvailableListener {
+    private static final String TAG = "FrameStats";
+    /** Nombre d'images par résumé */
+    private static final int WINDOW_SIZE = 300;
+
+    private static HandlerThread metricsThread;
+
+    private final String name;
+    private final long frameBudgetNanos;
+    private final long[] durations = new long[WINDOW_SIZE];
+    private final long[] mainThreadDurations = new long[WINDOW_SIZE];
+    private int count;
+    private int janky;
+
+    private FrameStats(String name, float refreshRate) {
+        this.name = name;
+        this.frameBudgetNanos = (long) (1_000_000_000L / Math.max(refreshRate, 1f));
+    }
+
+    /**
+     * Commence la mesure des images d'une activité si l'application est débogable.
+     *
+     * @param activity Activité à mesurer
+     * @return Instance à passer à {@link #detach(Activity, FrameStats)}, null en production
+     */
+    public static FrameStats attach(Activity activity) {
+        if ((activity.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) == 0) {
+            return null;
+        }
+        FrameStats stats = new FrameStats(activity.getClass().getSimpleName(),
+                activity.getWindowManager().getDefaultDisplay().getRefreshRate());
+        activity.getWindow().addOnFrameMetricsAvailableListener(stats, getHandler());
+        return stats;
+    }
+
+    /**
+     * Arrête la mesure commencée par {@link #attach(Activity)}.
+     *
+     * @param activity Activité mesurée
+     * @param stats Instance retournée par attach (peut être null)
+     */
+    public static void detach(Activity activity, FrameStats stats) {
+        if (stats != null) {
+            activity.getWindow().removeOnFrameMetricsAvailableListener(stats);
+        }
+    }
+
+    private static synchronized Handler getHandler() {
+        if (metricsThread == null) {
+            metricsThread = new HandlerThread("FrameStats");
+            metricsThread.start();
+        }
+        return new Handler(metricsThread.getLooper());
+    }
+
+    /**
+     * Appelé sur le thread de mesure pour chaque image rendue.
+     */
+    @Override
+    public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+        if (frameMetrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1) {
+            return; // La première image inclut le chargement de la fenêtre
+        }
+        long duration = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        mainThreadDurations[count] = frameMetrics.getMetric(FrameMetrics.INPUT_HANDLING_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.ANIMATION_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.LAYOUT_MEASURE_DURATION)
+                + frameMetrics.getMetric(FrameMetrics.DRAW_DURATION);
+        durations[count++] = duration;
+        if (duration > frameBudgetNanos) {
+            janky++;
+        }
+        if (count == WINDOW_SIZE) {
+            report();
+        }
+    }
+
+    /**
+     * Écrit le résumé des dernières images dans le logcat et remet les compteurs à zéro.
+     */
+    private void report() {
+        Arrays.sort(durations, 0, count);
+        Arrays.sort(mainThreadDurations, 0, count);
+        Log.d(TAG, name + " : " + count + " images, " + janky + " en retard ("
+                + (100 * janky / count) + " %), p50 " + millis(durations[count / 2])
+                + " ms, p90 " + millis(durations[count * 9 / 10])
+                + " ms, p99 " + millis(durations[count * 99 / 100]) + " ms ; thread principal p50 "
+                + millis(mainThreadDurations[count / 2]) + " ms, p90 "
+                + millis(mainThreadDurations[count * 9 / 10]) + " ms");
+        count = 0;
+        janky = 0;
+    }
+
+    private static String millis(long nanos) {
+        return String.valueOf(Math.round(nanos / 100_000.0) / 10.0);
+    }
+}
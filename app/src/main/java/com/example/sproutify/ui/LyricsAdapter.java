@@ -0,0 +1,225 @@
+package com.example.sproutify.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.PrecomputedText;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.sproutify.R;
+import com.example.sproutify.data.LyricsIndex;
+import com.example.sproutify.data.SyncedLyrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Adaptateur affichant les paroles d'un morceau ligne par ligne dans un RecyclerView.
+ * Les paroles sont découpées et mesurées (PrecomputedText) sur un thread dédié, une seule
+ * fois par morceau : le thread principal ne fait plus que la mise en page des lignes visibles.
+ * Pour des paroles synchronisées (LRC), la ligne chantée est mise en avant et centrée
+ * au fil de la lecture.
+ */
+public class LyricsAdapter extends RecyclerView.Adapter<LyricsAdapter.LineViewHolder> {
+    private static final ExecutorService measureExecutor = Executors.newSingleThreadExecutor();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final RecyclerView recyclerView;
+    private final PrecomputedText.Params textParams;
+    private final OnLyricsReadyListener readyListener;
+    private List<PrecomputedText> lines = Collections.emptyList();
+    /** Instants des lignes, null si les paroles ne sont pas synchronisées */
+    private SyncedLyrics synced;
+    /** Ligne chantée, -1 s'il n'y en a pas */
+    private int activeLine = -1;
+    /** Paroles affichées ou en cours de préparation */
+    private String lyrics;
+    /** Incrémenté à chaque changement de paroles, pour ignorer les préparations dépassées */
+    private int generation;
+
+    /**
+     * Interface notifiée lorsque les lignes des paroles sont prêtes à être affichées.
+     */
+    public interface OnLyricsReadyListener {
+        /**
+         * Appelé sur le thread principal une fois les paroles préparées.
+         * @param lineCount Nombre de lignes affichées (0 si le morceau n'a pas de paroles)
+         */
+        void onLyricsReady(int lineCount);
+    }
+
+    /**
+     * Constructeur de l'adaptateur.
+     *
+     * @param recyclerView Liste qui affichera les paroles (sert à lire le style des lignes)
+     * @param readyListener Listener notifié quand les paroles sont prêtes
+     */
+    public LyricsAdapter(RecyclerView recyclerView, OnLyricsReadyListener readyListener) {
+        TextView probe = (TextView) LayoutInflater.from(recyclerView.getContext())
+                .inflate(R.layout.item_lyric_line, recyclerView, false);
+        this.textParams = probe.getTextMetricsParams();
+        this.recyclerView = recyclerView;
+        this.readyListener = readyListener;
+    }
+
+    /**
+     * Affiche les paroles d'un morceau. Sans effet si ces paroles sont déjà affichées.
+     * Doit être appelé sur le thread principal.
+     *
+     * @param contentLines Paroles du morceau, lignes séparées par LyricsIndex.LINE_SEPARATOR
+     */
+    public void setLyrics(String contentLines) {
+        if (contentLines == null || contentLines.trim().isEmpty()) {
+            contentLines = null;
+        }
+        if (Objects.equals(contentLines, lyrics)) {
+            return;
+        }
+        lyrics = contentLines;
+        int requested = ++generation;
+        lines = Collections.emptyList();
+        synced = null;
+        activeLine = -1;
+        notifyDataSetChanged();
+        if (contentLines == null) {
+            readyListener.onLyricsReady(0);
+            return;
+        }
+        String text = contentLines;
+        measureExecutor.execute(() -> {
+            SyncedLyrics parsed = SyncedLyrics.parse(text);
+            List<PrecomputedText> measured = parsed != null
+                    ? measure(parsed, textParams) : measure(text, textParams);
+            mainHandler.post(() -> {
+                if (requested != generation) {
+                    return;
+                }
+                lines = measured;
+                synced = parsed;
+                notifyDataSetChanged();
+                readyListener.onLyricsReady(measured.size());
+            });
+        });
+    }
+
+    /**
+     * Découpe les paroles en lignes et mesure chacune d'elles.
+     */
+    private static List<PrecomputedText> measure(String text, PrecomputedText.Params params) {
+        List<PrecomputedText> result = new ArrayList<>();
+        int start = 0;
+        while (start <= text.length()) {
+            int end = text.indexOf(LyricsIndex.LINE_SEPARATOR, start);
+            if (end < 0) {
+                end = text.length();
+            }
+            result.add(PrecomputedText.create(text.substring(start, end).trim(), params));
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Mesure les lignes de paroles synchronisées, dans l'ordre chronologique.
+     */
+    private static List<PrecomputedText> measure(SyncedLyrics parsed, PrecomputedText.Params params) {
+        List<PrecomputedText> result = new ArrayList<>(parsed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            result.add(PrecomputedText.create(parsed.getLine(i), params));
+        }
+        return result;
+    }
+
+    /**
+     * Suit la position de lecture : met en avant la ligne chantée et la centre dans la liste.
+     * Appelé à chaque image pendant la lecture ; ne fait rien tant que la ligne ne change pas.
+     *
+     * @param positionMs Position de lecture interpolée, en millisecondes
+     */
+    public void onPlaybackPosition(int positionMs) {
+        if (synced == null) {
+            return;
+        }
+        int line = synced.lineAt(positionMs);
+        if (line == activeLine) {
+            return;
+        }
+        setLineActivated(activeLine, false);
+        activeLine = line;
+        setLineActivated(line, true);
+        scrollToLine(line);
+    }
+
+    /**
+     * Change l'état d'une ligne déjà affichée ; les autres le prendront à leur liaison.
+     */
+    private void setLineActivated(int line, boolean activated) {
+        if (line < 0) {
+            return;
+        }
+        RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(line);
+        if (holder != null) {
+            holder.itemView.setActivated(activated);
+        }
+    }
+
+    /**
+     * Fait défiler la liste en douceur pour centrer une ligne, sauf si l'utilisateur la fait défiler.
+     */
+    private void scrollToLine(int line) {
+        if (line < 0 || recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_DRAGGING) {
+            return;
+        }
+        RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(line);
+        if (holder != null) {
+            View view = holder.itemView;
+            int dy = (view.getTop() + view.getBottom()) / 2 - recyclerView.getHeight() / 2;
+            recyclerView.smoothScrollBy(0, dy);
+        } else if (recyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+            // Ligne hors de l'écran (défilement manuel, déplacement dans le morceau)
+            ((LinearLayoutManager) recyclerView.getLayoutManager())
+                    .scrollToPositionWithOffset(line, recyclerView.getHeight() / 3);
+        }
+    }
+
+    @NonNull
+    @Override
+    public LineViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        TextView view = (TextView) LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_lyric_line, parent, false);
+        return new LineViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LineViewHolder holder, int position) {
+        holder.lineText.setText(lines.get(position));
+        holder.lineText.setActivated(position == activeLine);
+    }
+
+    @Override
+    public int getItemCount() {
+        return lines.size();
+    }
+
+    /**
+     * ViewHolder d'une ligne de paroles.
+     */
+    static class LineViewHolder extends RecyclerView.ViewHolder {
+        final TextView lineText;
+
+        LineViewHolder(@NonNull TextView itemView) {
+            super(itemView);
+            lineText = itemView;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sproutify.ui;
+
+import androidx.lifecycle.ViewModel;
+
+import com.example.sproutify.model.Track;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * État de l'écran du lecteur conservé à travers les changements de configuration
+ * (rotation, changement de thème). L'activité recréée y retrouve la liste des pistes
+ * et sait que la lecture demandée par l'intent a déjà été lancée : elle se rattache
+ * alors à la session du service au lieu de recharger le morceau.
+ */
+public class PlayerViewModel extends ViewModel {
+    private List<Track> trackList;
+    private boolean playbackStarted;
+
+    /**
+     * Indique si l'écran a déjà été initialisé depuis son intent.
+     * @return true si une session est conservée
+     */
+    public boolean hasSession() {
+        return trackList != null;
+    }
+
+    /**
+     * Initialise la session de l'écran à sa première création.
+     * @param tracks Liste des pistes reçue par l'intent
+     */
+    public void startSession(List<Track> tracks) {
+        this.trackList = new ArrayList<>(tracks);
+        this.playbackStarted = false;
+    }
+
+    /**
+     * @return Liste des pistes de la session
+     */
+    public List<Track> getTrackList() {
+        return trackList;
+    }
+
+    /**
+     * Indique si la lecture demandée à l'ouverture de l'écran a déjà été lancée.
+     * @return true si l'écran ne doit plus relancer la lecture
+     */
+    public boolean isPlaybackStarted() {
+        return playbackStarted;
+    }
+
+    /**
+     * Marque la lecture demandée comme lancée.
+     */
+    public void setPlaybackStarted() {
+        this.playbackStarted = true;
+    }
+}
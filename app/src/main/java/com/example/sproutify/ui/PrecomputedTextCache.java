@@ -0,0 +1,81 @@
+package com.example.sproutify.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.PrecomputedText;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Textes mesurés à l'avance (PrecomputedText) pour un style de TextView donné.
+ * Les textes des lignes sur le point d'apparaître sont mesurés sur un thread dédié ;
+ * à la liaison, un texte déjà mesuré n'a plus qu'à être mis en page sur le thread principal.
+ * Toutes les méthodes doivent être appelées sur le thread principal.
+ */
+final class PrecomputedTextCache {
+    /** Textes conservés par style */
+    private static final int MAX_ENTRIES = 200;
+    /** Mesures en attente au maximum, pour ne pas prendre de retard sur un défilement rapide */
+    private static final int MAX_PENDING = 32;
+    private static final ExecutorService measureExecutor = Executors.newSingleThreadExecutor();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, PrecomputedText> cache = new LruCache<>(MAX_ENTRIES);
+    private final Set<String> pending = new HashSet<>();
+    private PrecomputedText.Params params;
+
+    /**
+     * @param params Style des TextView qui afficheront les textes
+     */
+    PrecomputedTextCache(PrecomputedText.Params params) {
+        this.params = params;
+    }
+
+    /**
+     * Demande la mesure d'un texte en arrière-plan s'il n'est pas déjà mesuré.
+     *
+     * @param text Texte d'une ligne à venir
+     */
+    void prefetch(String text) {
+        if (text == null || text.isEmpty() || cache.get(text) != null
+                || pending.size() >= MAX_PENDING || !pending.add(text)) {
+            return;
+        }
+        PrecomputedText.Params requested = params;
+        measureExecutor.execute(() -> {
+            PrecomputedText measured = PrecomputedText.create(text, requested);
+            mainHandler.post(() -> {
+                pending.remove(text);
+                if (requested == params) {
+                    cache.put(text, measured);
+                }
+            });
+        });
+    }
+
+    /**
+     * Affiche un texte, mesuré à l'avance s'il est disponible.
+     *
+     * @param view TextView du style de ce cache
+     * @param text Texte à afficher
+     */
+    void bind(TextView view, String text) {
+        PrecomputedText precomputed = text != null ? cache.get(text) : null;
+        if (precomputed != null) {
+            try {
+                view.setText(precomputed);
+                return;
+            } catch (IllegalArgumentException e) {
+                // Style effectif différent (sens du texte résolu à l'attachement) : on repart de celui-ci
+                params = view.getTextMetricsParams();
+                cache.evictAll();
+            }
+        }
+        view.setText(text);
+    }
+}
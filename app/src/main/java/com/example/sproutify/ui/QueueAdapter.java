@@ -10,21 +10,26 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.example.sproutify.R;
+import com.example.sproutify.data.ImageLoader;
 import com.example.sproutify.data.QueueManager;
 import com.example.sproutify.model.Track;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Adaptateur pour afficher la file d'attente de lecture dans un RecyclerView.
  * Gère l'affichage des morceaux en attente et permet leur réorganisation par glisser-déposer.
+ * Les éléments ont des identifiants stables : un même morceau présent plusieurs fois
+ * dans la file est distingué par son rang d'apparition.
  */
 public class QueueAdapter extends RecyclerView.Adapter<QueueAdapter.QueueViewHolder> {
     private List<Track> queue;
     private int currentIndex;
     private OnStartDragListener dragListener;
+    private long[] itemIds;
 
     /**
      * Interface pour gérer le début du glisser-déposer d'un élément.
@@ -48,6 +53,39 @@ public class QueueAdapter extends RecyclerView.Adapter<QueueAdapter.QueueViewHol
         this.queue = queue;
         this.currentIndex = currentIndex;
         this.dragListener = dragListener;
+        this.itemIds = computeItemIds(queue);
+        setHasStableIds(true);
+    }
+
+    /**
+     * Calcule l'identifiant stable de chaque élément de la file :
+     * identifiant du morceau combiné à son rang parmi les occurrences du même morceau.
+     * 
+     * @param queue Liste des morceaux dans la file d'attente
+     * @return Identifiants dans l'ordre de la file
+     */
+    private static long[] computeItemIds(List<Track> queue) {
+        long[] ids = new long[queue.size()];
+        Map<Long, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            long trackId = queue.get(i).getStableId();
+            Integer seen = occurrences.get(trackId);
+            int occurrence = seen != null ? seen + 1 : 0;
+            occurrences.put(trackId, occurrence);
+            ids[i] = ((long) occurrence << 48) | (trackId & 0xFFFFFFFFFFFFL);
+        }
+        return ids;
+    }
+
+    /**
+     * Retourne l'identifiant stable d'un élément de la file.
+     * 
+     * @param position La position de l'élément dans la liste
+     * @return Identifiant du morceau et de son occurrence
+     */
+    @Override
+    public long getItemId(int position) {
+        return itemIds[position];
     }
 
     /**
@@ -62,12 +100,21 @@ public class QueueAdapter extends RecyclerView.Adapter<QueueAdapter.QueueViewHol
     public QueueViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.queue_item, parent, false);
-        return new QueueViewHolder(view);
+        QueueViewHolder holder = new QueueViewHolder(view);
+
+        // Configurer le drag handle une fois pour toutes
+        holder.dragHandle.setOnTouchListener((v, event) -> {
+            if (event.getAction() == MotionEvent.ACTION_DOWN) {
+                dragListener.onStartDrag(holder);
+            }
+            return false;
+        });
+        return holder;
     }
 
     /**
      * Lie les données d'un morceau à son ViewHolder.
-     * Configure l'affichage du titre, de l'artiste, de la pochette et gère le glisser-déposer.
+     * Configure l'affichage du titre, de l'artiste et de la pochette.
      * 
      * @param holder Le ViewHolder à configurer
      * @param position La position de l'élément dans la liste
@@ -79,25 +126,11 @@ public class QueueAdapter extends RecyclerView.Adapter<QueueAdapter.QueueViewHol
         holder.artistTextView.setText(track.artist);
 
         // Charger l'image de couverture
-        if (track.coverUrl != null && !track.coverUrl.isEmpty()) {
-            Glide.with(holder.itemView.getContext())
-                    .load(track.coverUrl)
-                    .placeholder(R.drawable.placeholder_album)
-                    .into(holder.coverImageView);
-        } else {
-            holder.coverImageView.setImageResource(R.drawable.placeholder_album);
-        }
+        ImageLoader.getInstance(holder.itemView.getContext())
+                .load(track.coverUrl, holder.coverImageView, R.drawable.placeholder_album);
 
         // Mettre en évidence la piste en cours
         holder.itemView.setAlpha(position == currentIndex ? 1.0f : 0.7f);
-
-        // Configurer le drag handle
-        holder.dragHandle.setOnTouchListener((v, event) -> {
-            if (event.getAction() == MotionEvent.ACTION_DOWN) {
-                dragListener.onStartDrag(holder);
-            }
-            return false;
-        });
     }
 
     /**
@@ -119,6 +152,7 @@ public class QueueAdapter extends RecyclerView.Adapter<QueueAdapter.QueueViewHol
     public void updateQueue(List<Track> newQueue, int newCurrentIndex) {
         this.queue = newQueue;
         this.currentIndex = newCurrentIndex;
+        this.itemIds = computeItemIds(newQueue);
         notifyDataSetChanged();
     }
 
@@ -0,0 +1,152 @@
+package com.example.sproutify.ui;
+
+import android.os.SystemClock;
+import android.view.Choreographer;
+import android.widget.SeekBar;
+import android.widget.TextView;
+
+import com.example.sproutify.service.MusicService;
+
+/**
+ * Anime la barre de progression du lecteur au rythme de l'affichage.
+ * La position de chaque image est interpolée à partir du dernier relevé du service
+ * (position, instant, vitesse) : le MediaPlayer n'est interrogé qu'à chaque changement
+ * d'état, et le temps écoulé n'est réécrit qu'au changement de seconde, avec des libellés
+ * mis en cache pour chaque seconde du morceau. La position interpolée est aussi transmise,
+ * à chaque image, à un éventuel listener (suivi des paroles synchronisées).
+ */
+public final class SeekBarAnimator implements Choreographer.FrameCallback {
+    private final SeekBar seekBar;
+    private final TextView currentTimeView;
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private MusicService.PlaybackSnapshot snapshot;
+    private OnPositionListener positionListener;
+    private boolean running;
+    private int displayedSecond = -1;
+    /** Libellés déjà formatés, par seconde */
+    private String[] labels = new String[0];
+
+    /**
+     * Interface notifiée de la position affichée à chaque image.
+     */
+    public interface OnPositionListener {
+        /**
+         * Appelé sur le thread principal, à chaque image pendant la lecture.
+         * Ne doit rien allouer.
+         * @param positionMs Position de lecture interpolée, en millisecondes
+         */
+        void onPosition(int positionMs);
+    }
+
+    /**
+     * @param seekBar Barre de progression à animer
+     * @param currentTimeView Texte du temps écoulé
+     */
+    public SeekBarAnimator(SeekBar seekBar, TextView currentTimeView) {
+        this.seekBar = seekBar;
+        this.currentTimeView = currentTimeView;
+    }
+
+    /**
+     * Définit le listener notifié de la position à chaque image.
+     * @param listener Listener (null pour le retirer)
+     */
+    public void setOnPositionListener(OnPositionListener listener) {
+        this.positionListener = listener;
+    }
+
+    /**
+     * Repart d'un nouveau relevé : la barre est redessinée immédiatement, puis animée
+     * à chaque image tant que la lecture avance. En pause, elle reste figée.
+     * Doit être appelé sur le thread principal.
+     *
+     * @param snapshot Dernier relevé du service
+     */
+    public void setSnapshot(MusicService.PlaybackSnapshot snapshot) {
+        this.snapshot = snapshot;
+        if (snapshot.durationMs > 0 && seekBar.getMax() != snapshot.durationMs) {
+            seekBar.setMax(snapshot.durationMs);
+        }
+        render(SystemClock.uptimeMillis());
+        if (snapshot.speed > 0) {
+            if (!running) {
+                running = true;
+                choreographer.postFrameCallback(this);
+            }
+        } else {
+            stop();
+        }
+    }
+
+    /**
+     * Arrête l'animation (déplacement par l'utilisateur, activité arrêtée).
+     */
+    public void stop() {
+        if (running) {
+            running = false;
+            choreographer.removeFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+        // frameTimeNanos suit la même horloge que SystemClock.uptimeMillis
+        int position = render(frameTimeNanos / 1_000_000);
+        if (snapshot.durationMs > 0 && position >= snapshot.durationMs) {
+            running = false; // Fin du morceau : le service enverra le prochain relevé
+            return;
+        }
+        choreographer.postFrameCallback(this);
+    }
+
+    private int render(long uptimeMs) {
+        int position = snapshot.positionAt(uptimeMs);
+        seekBar.setProgress(position);
+        int second = position / 1000;
+        if (second != displayedSecond) {
+            displayedSecond = second;
+            currentTimeView.setText(label(second));
+        }
+        if (positionListener != null) {
+            positionListener.onPosition(position);
+        }
+        return position;
+    }
+
+    private String label(int second) {
+        if (second >= labels.length) {
+            String[] grown = new String[Math.max(second + 1, snapshot.durationMs / 1000 + 1)];
+            System.arraycopy(labels, 0, grown, 0, labels.length);
+            labels = grown;
+        }
+        String label = labels[second];
+        if (label == null) {
+            label = formatSeconds(second);
+            labels[second] = label;
+        }
+        return label;
+    }
+
+    /**
+     * Formate une durée au format MM:SS.
+     *
+     * @param totalSeconds Durée en secondes
+     * @return Texte affiché
+     */
+    public static String formatSeconds(int totalSeconds) {
+        int minutes = totalSeconds / 60;
+        int seconds = totalSeconds % 60;
+        StringBuilder builder = new StringBuilder(5);
+        if (minutes < 10) {
+            builder.append('0');
+        }
+        builder.append(minutes).append(':');
+        if (seconds < 10) {
+            builder.append('0');
+        }
+        return builder.append(seconds).toString();
+    }
+}
@@ -9,20 +9,34 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.sproutify.R;
 import com.example.sproutify.data.FavoritesManager;
+import com.example.sproutify.data.GroupIndex;
+import com.example.sproutify.data.ImageLoader;
+import com.example.sproutify.data.TrackCatalog;
 import com.example.sproutify.model.Track;
-import com.squareup.picasso.Picasso;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Adaptateur pour afficher les morceaux dans un RecyclerView avec différents types de vues.
  * Supporte l'affichage des morceaux sous forme de liste, d'albums, d'artistes ou de titres.
+ * Les mises à jour sont comparées en arrière-plan (identifiant du morceau) afin que seules
+ * les lignes ajoutées, retirées, déplacées ou modifiées soient réaffichées.
+ * Les titres et noms des lignes sur le point d'apparaître sont mesurés en arrière-plan
+ * (voir PrecomputedTextCache), pour que la liaison ne mesure plus de texte pendant le défilement.
+ * En débogage, les objets alloués par chaque liaison sont comptés (voir BindAllocations).
  */
-public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+        implements CoverPreloader.CoverSource {
 
     /** Type de vue pour l'affichage standard d'un morceau */
     public static final int VIEW_TYPE_TRACK = 0;
@@ -33,6 +47,37 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     /** Type de vue pour l'affichage en mode titre */
     public static final int VIEW_TYPE_TITLE = 3;
 
+    /** Taille des pochettes de chaque type de vue, en dp (item_track, item_album, item_artist, item_title) */
+    private static final int[] COVER_SIZES_DP = { 72, 120, 80, 64 };
+
+    /** Texte principal d'une ligne : titre, nom de l'album ou de l'artiste */
+    private static final int TEXT_PRIMARY = 0;
+    /** Texte secondaire d'une ligne : artiste du morceau */
+    private static final int TEXT_SECONDARY = 1;
+
+    /** Mise à jour partielle : seul l'extrait de paroles a changé */
+    private static final Object PAYLOAD_SNIPPET = new Object();
+    /** Mise à jour partielle : seul l'état favori a changé */
+    private static final Object PAYLOAD_FAVORITE = new Object();
+
+    /**
+     * Comparaison des morceaux : même identifiant, puis mêmes champs affichés.
+     */
+    private static final DiffUtil.ItemCallback<Track> DIFF_CALLBACK = new DiffUtil.ItemCallback<Track>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Track oldItem, @NonNull Track newItem) {
+            return oldItem.id.equals(newItem.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Track oldItem, @NonNull Track newItem) {
+            return Objects.equals(oldItem.title, newItem.title)
+                    && Objects.equals(oldItem.artist, newItem.artist)
+                    && Objects.equals(oldItem.album, newItem.album)
+                    && Objects.equals(oldItem.coverUrl, newItem.coverUrl);
+        }
+    };
+
     /**
      * Interface pour gérer les clics sur un morceau.
      */
@@ -56,12 +101,20 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         void onTrackFavoriteChanged(Track track);
     }
 
-    private final List<Track> data;
+    private final AsyncListDiffer<Track> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private final OnTrackClickListener clickListener;
     private final OnTrackFavoriteListener favoriteListener;
     private final Context ctx;
     private final FavoritesManager favoritesManager;
+    private final ImageLoader imageLoader;
     private int viewType = VIEW_TYPE_TRACK;
+    private Map<String, String> snippets = Collections.emptyMap();
+    private final GroupInfoCache albumInfo = new GroupInfoCache();
+    private final GroupInfoCache artistInfo = new GroupInfoCache();
+    /** Textes mesurés à l'avance, par type de vue et par texte (créés avec la première ligne du type) */
+    private final PrecomputedTextCache[][] textCaches = new PrecomputedTextCache[4][2];
+    /** Comptage des allocations pendant la liaison, null en production */
+    private final BindAllocations bindAllocations;
 
     /**
      * Constructeur de l'adaptateur.
@@ -74,10 +127,13 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     public TrackAdapter(Context ctx, List<Track> data, OnTrackClickListener clickListener,
                        OnTrackFavoriteListener favoriteListener) {
         this.ctx = ctx;
-        this.data = data;
+        differ.submitList(new ArrayList<>(data));
         this.clickListener = clickListener;
         this.favoriteListener = favoriteListener;
         this.favoritesManager = FavoritesManager.getInstance(ctx);
+        this.imageLoader = ImageLoader.getInstance(ctx);
+        this.bindAllocations = BindAllocations.create(ctx, "TrackAdapter");
+        setHasStableIds(true);
     }
 
     /**
@@ -90,6 +146,48 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         notifyDataSetChanged();
     }
 
+    /**
+     * Définit les extraits de paroles à afficher sous les morceaux.
+     * Les lignes déjà affichées dont l'extrait change sont mises à jour partiellement.
+     * 
+     * @param snippets Extraits indexés par identifiant de morceau (vide pour les masquer)
+     */
+    public void setSnippets(Map<String, String> snippets) {
+        if (snippets.equals(this.snippets)) {
+            return;
+        }
+        Map<String, String> previous = this.snippets;
+        this.snippets = snippets;
+        List<Track> current = differ.getCurrentList();
+        for (int i = 0; i < current.size(); i++) {
+            String id = current.get(i).id;
+            if (!Objects.equals(previous.get(id), snippets.get(id))) {
+                notifyItemChanged(i, PAYLOAD_SNIPPET);
+            }
+        }
+    }
+
+    /**
+     * Signale que l'état favori des morceaux affichés a pu changer.
+     * Seuls les boutons favoris sont mis à jour, sans recharger les pochettes.
+     */
+    public void notifyFavoritesChanged() {
+        if (viewType == VIEW_TYPE_TRACK) {
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_FAVORITE);
+        }
+    }
+
+    /**
+     * Retourne l'identifiant stable d'un élément, dérivé de celui du morceau.
+     * 
+     * @param position La position dans la liste
+     * @return L'identifiant du morceau à cette position
+     */
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getStableId();
+    }
+
     /**
      * Retourne le type de vue pour une position donnée.
      * 
@@ -111,21 +209,48 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     @NonNull @Override
     public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         LayoutInflater inflater = LayoutInflater.from(ctx);
-        View view;
+        RecyclerView.ViewHolder holder;
         
         switch (viewType) {
             case VIEW_TYPE_ALBUM:
-                view = inflater.inflate(R.layout.item_album, parent, false);
-                return new AlbumViewHolder(view);
+                AlbumViewHolder albumHolder = new AlbumViewHolder(inflater.inflate(R.layout.item_album, parent, false));
+                ensureTextCache(viewType, TEXT_PRIMARY, albumHolder.albumName);
+                holder = albumHolder;
+                break;
             case VIEW_TYPE_ARTIST:
-                view = inflater.inflate(R.layout.item_artist, parent, false);
-                return new ArtistViewHolder(view);
+                ArtistViewHolder artistHolder = new ArtistViewHolder(inflater.inflate(R.layout.item_artist, parent, false));
+                ensureTextCache(viewType, TEXT_PRIMARY, artistHolder.artistName);
+                holder = artistHolder;
+                break;
             case VIEW_TYPE_TITLE:
-                view = inflater.inflate(R.layout.item_title, parent, false);
-                return new TitleViewHolder(view);
+                TitleViewHolder titleHolder = new TitleViewHolder(inflater.inflate(R.layout.item_title, parent, false));
+                ensureTextCache(viewType, TEXT_PRIMARY, titleHolder.title);
+                ensureTextCache(viewType, TEXT_SECONDARY, titleHolder.artist);
+                holder = titleHolder;
+                break;
             default:
-                view = inflater.inflate(R.layout.item_track, parent, false);
-                return new TrackViewHolder(view);
+                TrackViewHolder trackHolder = new TrackViewHolder(inflater.inflate(R.layout.item_track, parent, false));
+                trackHolder.favoriteButton.setOnClickListener(v -> toggleFavorite(trackHolder));
+                ensureTextCache(VIEW_TYPE_TRACK, TEXT_PRIMARY, trackHolder.title);
+                ensureTextCache(VIEW_TYPE_TRACK, TEXT_SECONDARY, trackHolder.artist);
+                holder = trackHolder;
+                break;
+        }
+        // Listeners créés une fois par ViewHolder plutôt qu'à chaque liaison
+        holder.itemView.setOnClickListener(v -> dispatchClick(holder));
+        return holder;
+    }
+
+    /**
+     * Crée le cache de textes mesurés d'un type de vue, avec le style de son TextView.
+     * 
+     * @param type Le type de vue
+     * @param slot TEXT_PRIMARY ou TEXT_SECONDARY
+     * @param view Un TextView de ce type de vue
+     */
+    private void ensureTextCache(int type, int slot, TextView view) {
+        if (textCaches[type][slot] == null) {
+            textCaches[type][slot] = new PrecomputedTextCache(view.getTextMetricsParams());
         }
     }
 
@@ -137,16 +262,48 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      */
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        Track track = data.get(position);
+        if (bindAllocations != null) {
+            bindAllocations.begin();
+        }
+        Track track = differ.getCurrentList().get(position);
 
         if (holder instanceof TrackViewHolder) {
-            bindTrackViewHolder((TrackViewHolder) holder, track, position);
+            bindTrackViewHolder((TrackViewHolder) holder, track);
         } else if (holder instanceof AlbumViewHolder) {
-            bindAlbumViewHolder((AlbumViewHolder) holder, track, position);
+            bindAlbumViewHolder((AlbumViewHolder) holder, track);
         } else if (holder instanceof ArtistViewHolder) {
-            bindArtistViewHolder((ArtistViewHolder) holder, track, position);
+            bindArtistViewHolder((ArtistViewHolder) holder, track);
         } else if (holder instanceof TitleViewHolder) {
-            bindTitleViewHolder((TitleViewHolder) holder, track, position);
+            bindTitleViewHolder((TitleViewHolder) holder, track);
+        }
+        if (bindAllocations != null) {
+            bindAllocations.end();
+        }
+    }
+
+    /**
+     * Lie partiellement un ViewHolder quand seules certaines informations ont changé.
+     * 
+     * @param holder Le ViewHolder à configurer
+     * @param position La position de l'élément dans la liste
+     * @param payloads Nature des changements (vide pour une liaison complète)
+     */
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !(holder instanceof TrackViewHolder)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        TrackViewHolder h = (TrackViewHolder) holder;
+        Track track = differ.getCurrentList().get(position);
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (payload == PAYLOAD_FAVORITE) {
+                h.favoriteButton.setActivated(favoritesManager.isFavorite(track));
+            } else if (payload == PAYLOAD_SNIPPET) {
+                bindSnippet(h, track);
+            }
         }
     }
 
@@ -155,26 +312,33 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      * 
      * @param h Le ViewHolder à configurer
      * @param track Le morceau à afficher
-     * @param position La position dans la liste
      */
-    private void bindTrackViewHolder(TrackViewHolder h, Track track, int position) {
-        h.title.setText(track.title);
-        h.artist.setText(track.artist);
+    private void bindTrackViewHolder(TrackViewHolder h, Track track) {
+        textCaches[VIEW_TYPE_TRACK][TEXT_PRIMARY].bind(h.title, track.title);
+        textCaches[VIEW_TYPE_TRACK][TEXT_SECONDARY].bind(h.artist, track.artist);
 
-        Picasso.get()
-                .load(track.coverUrl)
-                .placeholder(R.drawable.ic_album_placeholder)
-                .into(h.cover);
+        bindSnippet(h, track);
 
-        updateFavoriteButton(h.favoriteButton, track);
+        loadCover(track.coverUrl, h.cover);
 
-        h.itemView.setOnClickListener(v -> clickListener.onTrackClick(track, position));
+        // L'icône et sa teinte suivent l'état "activated" (sélecteurs ic_favorite_state et favorite_state_tint)
+        h.favoriteButton.setActivated(favoritesManager.isFavorite(track));
+    }
 
-        h.favoriteButton.setOnClickListener(v -> {
-            boolean isFavorite = favoritesManager.toggleFavorite(track);
-            updateFavoriteButton(h.favoriteButton, track);
-            favoriteListener.onTrackFavoriteChanged(track);
-        });
+    /**
+     * Affiche ou masque l'extrait de paroles d'un morceau.
+     * 
+     * @param h Le ViewHolder à configurer
+     * @param track Le morceau affiché
+     */
+    private void bindSnippet(TrackViewHolder h, Track track) {
+        String snippet = snippets.get(track.id);
+        if (snippet != null) {
+            h.snippet.setText(snippet);
+            h.snippet.setVisibility(View.VISIBLE);
+        } else {
+            h.snippet.setVisibility(View.GONE);
+        }
     }
 
     /**
@@ -182,17 +346,12 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      * 
      * @param h Le ViewHolder à configurer
      * @param track Le morceau à afficher
-     * @param position La position dans la liste
      */
-    private void bindAlbumViewHolder(AlbumViewHolder h, Track track, int position) {
-        h.albumName.setText(track.album);
-
-        Picasso.get()
-                .load(track.coverUrl)
-                .placeholder(R.drawable.ic_album_placeholder)
-                .into(h.cover);
+    private void bindAlbumViewHolder(AlbumViewHolder h, Track track) {
+        textCaches[VIEW_TYPE_ALBUM][TEXT_PRIMARY].bind(h.albumName, track.album);
+        bindGroupInfo(h.groupInfo, albumInfo, TrackCatalog.getInstance().getAlbumIndex(), track.album);
 
-        h.itemView.setOnClickListener(v -> clickListener.onTrackClick(track, position));
+        loadCover(track.coverUrl, h.cover);
     }
 
     /**
@@ -200,17 +359,30 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      * 
      * @param h Le ViewHolder à configurer
      * @param track Le morceau à afficher
-     * @param position La position dans la liste
      */
-    private void bindArtistViewHolder(ArtistViewHolder h, Track track, int position) {
-        h.artistName.setText(track.artist);
+    private void bindArtistViewHolder(ArtistViewHolder h, Track track) {
+        textCaches[VIEW_TYPE_ARTIST][TEXT_PRIMARY].bind(h.artistName, track.artist);
+        bindGroupInfo(h.groupInfo, artistInfo, TrackCatalog.getInstance().getArtistIndex(), track.artist);
 
-        Picasso.get()
-                .load(track.coverUrl)
-                .placeholder(R.drawable.ic_album_placeholder)
-                .into(h.artistImage);
+        loadCover(track.coverUrl, h.artistImage);
+    }
 
-        h.itemView.setOnClickListener(v -> clickListener.onTrackClick(track, position));
+    /**
+     * Affiche le nombre de morceaux et la durée totale d'un artiste ou d'un album.
+     * 
+     * @param view Le TextView à remplir
+     * @param cache Textes déjà formatés pour cet index
+     * @param groups L'index de regroupement (null s'il n'est pas encore construit)
+     * @param name Le nom de l'artiste ou de l'album
+     */
+    private void bindGroupInfo(TextView view, GroupInfoCache cache, GroupIndex groups, String name) {
+        int id = groups != null ? groups.getId(name) : -1;
+        if (id < 0) {
+            view.setVisibility(View.GONE);
+            return;
+        }
+        view.setText(cache.get(groups, id));
+        view.setVisibility(View.VISIBLE);
     }
 
     /**
@@ -218,33 +390,57 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      * 
      * @param h Le ViewHolder à configurer
      * @param track Le morceau à afficher
-     * @param position La position dans la liste
      */
-    private void bindTitleViewHolder(TitleViewHolder h, Track track, int position) {
-        h.title.setText(track.title);
-        h.artist.setText(track.artist);
+    private void bindTitleViewHolder(TitleViewHolder h, Track track) {
+        textCaches[VIEW_TYPE_TITLE][TEXT_PRIMARY].bind(h.title, track.title);
+        textCaches[VIEW_TYPE_TITLE][TEXT_SECONDARY].bind(h.artist, track.artist);
 
-        Picasso.get()
-                .load(track.coverUrl)
-                .placeholder(R.drawable.ic_album_placeholder)
-                .into(h.cover);
+        loadCover(track.coverUrl, h.cover);
+    }
 
-        h.itemView.setOnClickListener(v -> clickListener.onTrackClick(track, position));
+    /**
+     * Demande la pochette d'une ligne, hors du comptage des allocations de la liaison.
+     * 
+     * @param url URL de la pochette
+     * @param view L'ImageView à remplir
+     */
+    private void loadCover(String url, ImageView view) {
+        if (bindAllocations != null) {
+            bindAllocations.pause();
+        }
+        imageLoader.load(url, view, R.drawable.ic_album_placeholder);
+        if (bindAllocations != null) {
+            bindAllocations.resume();
+        }
     }
 
     /**
-     * Met à jour l'apparence du bouton favori en fonction de l'état du morceau.
+     * Transmet le clic sur une ligne avec sa position actuelle : une ligne déplacée
+     * par une mise à jour n'est pas forcément réaffichée, sa position de liaison serait obsolète.
      * 
-     * @param button Le bouton à mettre à jour
-     * @param track Le morceau concerné
+     * @param holder Le ViewHolder cliqué
      */
-    private void updateFavoriteButton(ImageButton button, Track track) {
-        if (favoritesManager.isFavorite(track)) {
-            button.setImageResource(R.drawable.ic_favorite_filled);
-            button.setColorFilter(ctx.getResources().getColor(R.color.favorite_active, ctx.getTheme()));
-        } else {
-            button.setImageResource(R.drawable.ic_favorite_border);
-            button.setColorFilter(ctx.getResources().getColor(R.color.favorite_button_tint, ctx.getTheme()));
+    private void dispatchClick(RecyclerView.ViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position != RecyclerView.NO_POSITION) {
+            clickListener.onTrackClick(differ.getCurrentList().get(position), position);
+        }
+    }
+
+    /**
+     * Ajoute ou retire des favoris le morceau de la ligne dont le bouton a été touché.
+     * 
+     * @param holder Le ViewHolder du bouton
+     */
+    private void toggleFavorite(TrackViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        Track track = differ.getCurrentList().get(position);
+        holder.favoriteButton.setActivated(favoritesManager.toggleFavorite(track));
+        if (favoriteListener != null) {
+            favoriteListener.onTrackFavoriteChanged(track);
         }
     }
 
@@ -253,7 +449,100 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      * 
      * @return Le nombre d'éléments
      */
-    @Override public int getItemCount() { return data.size(); }
+    @Override public int getItemCount() { return differ.getCurrentList().size(); }
+
+    /**
+     * Active le comptage des allocations tant que la liste est affichée.
+     * 
+     * @param recyclerView Le RecyclerView auquel l'adaptateur est attaché
+     */
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        if (bindAllocations != null) {
+            bindAllocations.start();
+        }
+    }
+
+    /**
+     * Arrête le comptage des allocations quand la liste n'est plus affichée.
+     * 
+     * @param recyclerView Le RecyclerView dont l'adaptateur est détaché
+     */
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        if (bindAllocations != null) {
+            bindAllocations.stop();
+        }
+    }
+
+    /**
+     * Retourne l'URL de la pochette d'un élément, pour le préchargement.
+     * 
+     * @param position La position dans la liste
+     * @return L'URL de la pochette
+     */
+    @Override
+    public String getCoverUrl(int position) {
+        return differ.getCurrentList().get(position).coverUrl;
+    }
+
+    /**
+     * Retourne la taille des pochettes du type de vue courant, en pixels.
+     * 
+     * @return La taille des pochettes
+     */
+    @Override
+    public int getCoverSize() {
+        return Math.round(COVER_SIZES_DP[viewType] * ctx.getResources().getDisplayMetrics().density);
+    }
+
+    /**
+     * Mesure en arrière-plan les textes des lignes sur le point d'apparaître.
+     * 
+     * @param from Première position anticipée
+     * @param to Dernière position anticipée (incluse)
+     */
+    @Override
+    public void onPrefetchWindow(int from, int to) {
+        PrecomputedTextCache primary = textCaches[viewType][TEXT_PRIMARY];
+        PrecomputedTextCache secondary = textCaches[viewType][TEXT_SECONDARY];
+        if (primary == null) {
+            return; // Aucune ligne de ce type encore créée : style inconnu
+        }
+        List<Track> tracks = differ.getCurrentList();
+        for (int p = from; p <= to && p < tracks.size(); p++) {
+            Track track = tracks.get(p);
+            primary.prefetch(viewType == VIEW_TYPE_ALBUM ? track.album
+                    : viewType == VIEW_TYPE_ARTIST ? track.artist : track.title);
+            if (secondary != null) {
+                secondary.prefetch(track.artist);
+            }
+        }
+    }
+
+    /**
+     * Textes "n morceaux · x min" d'un index de regroupement, formatés à la première
+     * demande puis réutilisés tant que l'index ne change pas.
+     */
+    private static final class GroupInfoCache {
+        private GroupIndex groups;
+        private String[] texts;
+
+        String get(GroupIndex groups, int id) {
+            if (groups != this.groups) {
+                this.groups = groups;
+                this.texts = new String[groups.size()];
+            }
+            String text = texts[id];
+            if (text == null) {
+                int count = groups.getCount(id);
+                long minutes = Math.round(groups.getTotalDurationSeconds(id) / 60.0);
+                text = count + (count > 1 ? " morceaux" : " morceau") + " · " + minutes + " min";
+                texts[id] = text;
+            }
+            return text;
+        }
+    }
 
     /**
      * ViewHolder pour l'affichage standard d'un morceau.
@@ -267,6 +556,8 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         TextView artist;
         /** Bouton favori */
         ImageButton favoriteButton;
+        /** Extrait des paroles */
+        TextView snippet;
 
         /**
          * Constructeur du ViewHolder.
@@ -279,6 +570,7 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
             title = v.findViewById(R.id.textTitle);
             artist = v.findViewById(R.id.textArtist);
             favoriteButton = v.findViewById(R.id.btnFavorite);
+            snippet = v.findViewById(R.id.textSnippet);
         }
     }
 
@@ -290,6 +582,8 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         ImageView cover;
         /** Texte du nom de l'album */
         TextView albumName;
+        /** Nombre de morceaux et durée de l'album */
+        TextView groupInfo;
 
         /**
          * Constructeur du ViewHolder.
@@ -300,6 +594,7 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
             super(v);
             cover = v.findViewById(R.id.imageCover);
             albumName = v.findViewById(R.id.textAlbumName);
+            groupInfo = v.findViewById(R.id.textGroupInfo);
         }
     }
 
@@ -311,6 +606,8 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         ImageView artistImage;
         /** Texte du nom de l'artiste */
         TextView artistName;
+        /** Nombre de morceaux et durée de l'artiste */
+        TextView groupInfo;
 
         /**
          * Constructeur du ViewHolder.
@@ -321,6 +618,7 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
             super(v);
             artistImage = v.findViewById(R.id.imageArtist);
             artistName = v.findViewById(R.id.textArtistName);
+            groupInfo = v.findViewById(R.id.textGroupInfo);
         }
     }
 
@@ -350,21 +648,20 @@ public class TrackAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
 
     /**
      * Met à jour la liste des morceaux avec de nouvelles données.
+     * La différence avec la liste affichée est calculée en arrière-plan.
      * 
      * @param newData Nouvelle liste de morceaux
      */
     public void updateData(List<Track> newData) {
-        data.clear();
-        data.addAll(newData);
-        notifyDataSetChanged();
+        differ.submitList(new ArrayList<>(newData));
     }
 
     /**
      * Retourne la liste actuelle des morceaux.
      * 
-     * @return La liste des morceaux
+     * @return La liste des morceaux affichés (non modifiable)
      */
     public List<Track> getTracks() {
-        return data;
+        return differ.getCurrentList();
     }
 }
@@ -0,0 +1,162 @@
+package com.example.sproutify.ui;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CheckBox;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.sproutify.R;
+import com.example.sproutify.model.Track;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adaptateur du sélecteur de morceaux à choix multiple.
+ * La liste affichée n'est qu'un tableau de positions dans le catalogue (null pour le catalogue
+ * entier, dans son ordre) : aucune ligne n'est préparée à l'avance, seules les lignes visibles
+ * lisent leur morceau à la liaison. La sélection est un ensemble de bits indexé par position
+ * dans le catalogue ; elle est conservée d'une recherche à l'autre.
+ */
+public class TrackPickerAdapter extends RecyclerView.Adapter<TrackPickerAdapter.PickerViewHolder> {
+    private List<Track> tracks = Collections.emptyList();
+    /** Positions affichées dans le catalogue, null pour tout le catalogue */
+    private int[] ordinals;
+    private final BitSet selected = new BitSet();
+    private final OnSelectionChangedListener selectionListener;
+
+    /**
+     * Interface notifiée quand la sélection change.
+     */
+    public interface OnSelectionChangedListener {
+        /**
+         * @param count Nombre de morceaux sélectionnés
+         */
+        void onSelectionChanged(int count);
+    }
+
+    /**
+     * Constructeur de l'adaptateur.
+     *
+     * @param selectionListener Listener notifié à chaque changement de sélection
+     */
+    public TrackPickerAdapter(OnSelectionChangedListener selectionListener) {
+        this.selectionListener = selectionListener;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Définit le catalogue dans lequel on choisit. La sélection est vidée :
+     * ses positions ne désignent plus les mêmes morceaux.
+     *
+     * @param tracks Morceaux du catalogue
+     */
+    public void setTracks(List<Track> tracks) {
+        this.tracks = tracks;
+        this.ordinals = null;
+        selected.clear();
+        notifyDataSetChanged();
+        selectionListener.onSelectionChanged(0);
+    }
+
+    /**
+     * Affiche une partie du catalogue (résultat de recherche).
+     *
+     * @param ordinals Positions des morceaux à afficher, null pour tout le catalogue
+     */
+    public void setOrdinals(int[] ordinals) {
+        this.ordinals = ordinals;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Retourne les positions sélectionnées, dans l'ordre du catalogue.
+     *
+     * @return Positions des morceaux sélectionnés
+     */
+    public int[] getSelectedOrdinals() {
+        return selected.stream().toArray();
+    }
+
+    /**
+     * Restaure une sélection (changement de configuration).
+     *
+     * @param selection Positions des morceaux sélectionnés
+     */
+    public void setSelectedOrdinals(int[] selection) {
+        selected.clear();
+        for (int ordinal : selection) {
+            if (ordinal >= 0 && ordinal < tracks.size()) {
+                selected.set(ordinal);
+            }
+        }
+        notifyDataSetChanged();
+        selectionListener.onSelectionChanged(selected.cardinality());
+    }
+
+    private int ordinalAt(int position) {
+        return ordinals != null ? ordinals[position] : position;
+    }
+
+    private void toggle(int position) {
+        int ordinal = ordinalAt(position);
+        selected.flip(ordinal);
+        notifyItemChanged(position);
+        selectionListener.onSelectionChanged(selected.cardinality());
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return tracks.get(ordinalAt(position)).getStableId();
+    }
+
+    @NonNull
+    @Override
+    public PickerViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_track_picker, parent, false);
+        PickerViewHolder holder = new PickerViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                toggle(position);
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PickerViewHolder holder, int position) {
+        int ordinal = ordinalAt(position);
+        Track track = tracks.get(ordinal);
+        holder.title.setText(track.title);
+        holder.artist.setText(track.artist);
+        holder.check.setChecked(selected.get(ordinal));
+    }
+
+    @Override
+    public int getItemCount() {
+        return ordinals != null ? ordinals.length : tracks.size();
+    }
+
+    /**
+     * ViewHolder d'une ligne du sélecteur.
+     */
+    static class PickerViewHolder extends RecyclerView.ViewHolder {
+        final CheckBox check;
+        final TextView title;
+        final TextView artist;
+
+        PickerViewHolder(@NonNull View itemView) {
+            super(itemView);
+            check = itemView.findViewById(R.id.pickerItemCheck);
+            title = itemView.findViewById(R.id.pickerItemTitle);
+            artist = itemView.findViewById(R.id.pickerItemArtist);
+        }
+    }
+}
@@ -1,37 +1,60 @@
 package com.example.sproutify.ui;
 
+import android.database.Cursor;
+import android.database.MatrixCursor;
 import android.os.Bundle;
+import android.provider.BaseColumns;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.SearchView;
+import androidx.cursoradapter.widget.SimpleCursorAdapter;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.sproutify.R;
+import com.example.sproutify.data.FacetEngine;
 import com.example.sproutify.data.FavoritesManager;
+import com.example.sproutify.data.GroupIndex;
+import com.example.sproutify.data.ImageLoader;
+import com.example.sproutify.data.IntList;
+import com.example.sproutify.data.LyricsIndex;
+import com.example.sproutify.data.SearchIndex;
+import com.example.sproutify.data.SearchResultCache;
+import com.example.sproutify.data.SortOrders;
+import com.example.sproutify.data.SuggestionIndex;
+import com.example.sproutify.data.TextNormalizer;
+import com.example.sproutify.data.TrackCatalog;
 import com.example.sproutify.model.Track;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Fragment pour afficher et gérer la liste des morceaux.
- * Supporte le filtrage par titre, artiste, album et la recherche.
+ * Supporte le filtrage par titre, artiste, album, la recherche et la recherche dans les paroles,
+ * ainsi que des filtres combinés (artistes, albums, décennies, favoris) et des suggestions
+ * de mots pendant la saisie.
  * Peut afficher soit tous les morceaux, soit uniquement les favoris.
  */
-public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavoriteListener {
+public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavoriteListener,
+        TrackCatalog.OnIndexReadyListener {
 
+    private static final String TAG = "TracksFragment";
     /** Clé pour l'argument indiquant si on affiche les favoris */
     private static final String ARG_SHOW_FAVORITES = "show_favorites";
     /** Constante pour le filtre "Tous" */
@@ -42,18 +65,32 @@ public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavo
     private static final int FILTER_ARTIST = 2;
     /** Constante pour le filtre "Album" */
     private static final int FILTER_ALBUM = 3;
+    /** Constante pour le filtre "Paroles" */
+    private static final int FILTER_LYRICS = 4;
+    /** Colonne du curseur de suggestions contenant le mot proposé */
+    private static final String SUGGESTION_COLUMN = "suggestion";
 
     private RecyclerView recyclerView;
     private TextView emptyView;
     private SearchView searchView;
     private ChipGroup filterChipGroup;
+    private ChipGroup sortChipGroup;
+    private Chip facetChip;
     private TrackAdapter adapter;
+    private CoverPreloader coverPreloader;
+    private SimpleCursorAdapter suggestionAdapter;
     private boolean showFavorites;
     private List<Track> allTracks = new ArrayList<>();
     private String currentQuery = "";
-    private int currentFilter = FILTER_ALL;
+    /** Écrit sur le thread principal, relu par le filtrage des suggestions en arrière-plan */
+    private volatile int currentFilter = FILTER_ALL;
+    private int currentSort = SortOrders.SORT_DEFAULT;
+    private FacetEngine.Selection facetSelection = FacetEngine.Selection.EMPTY;
     private boolean showUniqueItems = false;
     private String selectedItem = ""; // Pour stocker l'élément sélectionné (album ou artiste)
+    /** Critères de la liste actuellement affichée, null si elle doit être recalculée */
+    private SearchResultCache.Key displayedKey;
+    private int displayedFavoritesVersion;
 
     /**
      * Constructeur vide requis pour le Fragment.
@@ -101,8 +138,11 @@ public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavo
         emptyView = view.findViewById(R.id.emptyView);
         searchView = view.findViewById(R.id.searchView);
         filterChipGroup = view.findViewById(R.id.filterChipGroup);
+        sortChipGroup = view.findViewById(R.id.sortChipGroup);
+        facetChip = view.findViewById(R.id.filterFacets);
 
-        recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        recyclerView.setLayoutManager(layoutManager);
 
         adapter = new TrackAdapter(getContext(), new ArrayList<>(),
                 (track, position) -> {
@@ -130,19 +170,70 @@ public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavo
                 this);
         recyclerView.setAdapter(adapter);
 
+        // Préchargement des pochettes des lignes à venir pendant le défilement
+        coverPreloader = new CoverPreloader(ImageLoader.getInstance(requireContext()), layoutManager, adapter);
+        recyclerView.addOnScrollListener(coverPreloader);
+
         // Configuration de la SearchView
         setupSearchView();
 
-        // Configuration des filtres
+        // Configuration des filtres et du tri
         setupFilters();
+        setupSort();
+
+        TrackCatalog.getInstance().addOnIndexReadyListener(this);
 
         updateTracks(allTracks);
 
         return view;
     }
 
+    /**
+     * Libère les références aux vues et se désabonne du catalogue.
+     */
+    @Override
+    public void onDestroyView() {
+        TrackCatalog.getInstance().removeOnIndexReadyListener(this);
+        displayedKey = null;
+        coverPreloader.cancelAll();
+        super.onDestroyView();
+    }
+
+    /**
+     * Appelé quand un index du catalogue devient disponible.
+     * Relance le filtrage si la recherche en cours attendait cet index.
+     *
+     * @param catalog Catalogue dont l'index vient d'être publié
+     */
+    @Override
+    public void onIndexReady(TrackCatalog catalog) {
+        if (!currentQuery.isEmpty() || showUniqueItems || !selectedItem.isEmpty()
+                || currentSort != SortOrders.SORT_DEFAULT || !facetSelection.isEmpty()) {
+            filterTracks();
+        }
+    }
+
+    /**
+     * Retourne l'index de regroupement correspondant au filtre courant.
+     *
+     * @return Index des artistes ou des albums, null pour les autres filtres
+     *         ou si l'index est encore en construction
+     */
+    @Nullable
+    private GroupIndex currentGroupIndex() {
+        switch (currentFilter) {
+            case FILTER_ARTIST:
+                return TrackCatalog.getInstance().getArtistIndex();
+            case FILTER_ALBUM:
+                return TrackCatalog.getInstance().getAlbumIndex();
+            default:
+                return null;
+        }
+    }
+
     /**
      * Configure la SearchView pour la recherche de morceaux.
+     * Les suggestions complètent le dernier mot saisi à partir de l'index de complétion.
      */
     private void setupSearchView() {
         searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
@@ -158,10 +249,77 @@ public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavo
                 return true;
             }
         });
+
+        suggestionAdapter = new SimpleCursorAdapter(getContext(), android.R.layout.simple_list_item_1, null,
+                new String[] { SUGGESTION_COLUMN }, new int[] { android.R.id.text1 }, 0);
+        // Appelé par le filtrage de la SearchView, sur son thread d'arrière-plan
+        suggestionAdapter.setFilterQueryProvider(this::createSuggestionCursor);
+        searchView.setSuggestionsAdapter(suggestionAdapter);
+        searchView.setOnSuggestionListener(new SearchView.OnSuggestionListener() {
+            @Override
+            public boolean onSuggestionSelect(int position) {
+                return false;
+            }
+
+            @Override
+            public boolean onSuggestionClick(int position) {
+                Cursor cursor = suggestionAdapter.getCursor();
+                if (cursor == null || !cursor.moveToPosition(position)) {
+                    return false;
+                }
+                String query = searchView.getQuery().toString();
+                String word = cursor.getString(cursor.getColumnIndexOrThrow(SUGGESTION_COLUMN));
+                searchView.setQuery(query.substring(0, lastWordStart(query)) + word + " ", false);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Construit les suggestions pour le dernier mot de la recherche.
+     *
+     * @param constraint Texte saisi dans la SearchView
+     * @return Curseur des mots proposés, null s'il n'y a rien à proposer
+     */
+    @Nullable
+    private Cursor createSuggestionCursor(CharSequence constraint) {
+        SuggestionIndex index = TrackCatalog.getInstance().getSuggestionIndex();
+        if (index == null || constraint == null || currentFilter == FILTER_LYRICS) {
+            return null;
+        }
+        String query = constraint.toString();
+        String prefix = query.substring(lastWordStart(query));
+        if (prefix.isEmpty()) {
+            return null;
+        }
+        List<String> words = index.complete(prefix, SuggestionIndex.DEFAULT_LIMIT);
+        if (words.isEmpty() || (words.size() == 1 && words.get(0).equalsIgnoreCase(prefix))) {
+            return null; // Mot déjà complet
+        }
+        MatrixCursor cursor = new MatrixCursor(new String[] { BaseColumns._ID, SUGGESTION_COLUMN }, words.size());
+        for (int i = 0; i < words.size(); i++) {
+            cursor.addRow(new Object[] { i, words.get(i) });
+        }
+        return cursor;
     }
 
     /**
-     * Configure les filtres (Tous, Titre, Artiste, Album).
+     * Retourne la position du début du dernier mot d'un texte.
+     *
+     * @param text Texte saisi
+     * @return Indice du premier caractère du dernier mot, ou la longueur du texte
+     *         s'il se termine par un séparateur
+     */
+    private static int lastWordStart(String text) {
+        int i = text.length();
+        while (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Configure les filtres (Tous, Titre, Artiste, Album, Paroles).
      */
     private void setupFilters() {
         filterChipGroup.setOnCheckedChangeListener((group, checkedId) -> {
@@ -182,91 +340,121 @@ public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavo
                 currentFilter = FILTER_ALBUM;
                 showUniqueItems = true;
                 adapter.setViewType(TrackAdapter.VIEW_TYPE_ALBUM);
+            } else if (checkedId == R.id.filterLyrics) {
+                currentFilter = FILTER_LYRICS;
+                showUniqueItems = false;
+                adapter.setViewType(TrackAdapter.VIEW_TYPE_TRACK);
             }
             filterTracks();
         });
+        facetChip.setOnClickListener(v -> showFacetDialog());
+        updateFacetChip();
     }
 
     /**
-     * Filtre la liste des morceaux en fonction des critères actuels.
-     * Prend en compte la recherche, les filtres et l'état des favoris.
+     * Ouvre la boîte de dialogue des filtres combinés.
+     * La liste est refiltrée à chaque puce cochée ou décochée.
      */
-    private void filterTracks() {
-        List<Track> filteredTracks;
-
-        if (showUniqueItems) {
-            // Afficher les éléments uniques de la catégorie sélectionnée
-            Set<String> uniqueItems = new HashSet<>();
-            List<Track> uniqueTracks = new ArrayList<>();
+    private void showFacetDialog() {
+        FacetEngine engine = TrackCatalog.getInstance().getFacetEngine();
+        if (getContext() == null) {
+            return;
+        }
+        if (engine == null) {
+            Toast.makeText(getContext(), "Indexation du catalogue en cours…", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        long[] favoritesBits = engine.getFavoritesBits(FavoritesManager.getInstance(getContext()));
+        FacetFilterDialog.show(getContext(), engine, facetSelection, favoritesBits, selection -> {
+            facetSelection = selection;
+            updateFacetChip();
+            filterTracks();
+        });
+    }
 
-            for (Track track : allTracks) {
-                String item = "";
-                switch (currentFilter) {
-                    case FILTER_TITLE:
-                        item = track.title;
-                        break;
-                    case FILTER_ARTIST:
-                        item = track.artist;
-                        break;
-                    case FILTER_ALBUM:
-                        item = track.album;
-                        break;
-                }
+    /**
+     * Affiche le nombre de filtres combinés actifs sur la puce "Filtres".
+     */
+    private void updateFacetChip() {
+        int count = facetSelection.size();
+        facetChip.setText(count == 0 ? "Filtres" : "Filtres (" + count + ")");
+    }
 
-                // Vérifier si l'élément correspond à la recherche
-                if (!item.isEmpty() && !uniqueItems.contains(item) && 
-                    (currentQuery.isEmpty() || item.toLowerCase().contains(currentQuery))) {
-                    uniqueItems.add(item);
-                    uniqueTracks.add(track);
-                }
+    /**
+     * Configure le choix de l'ordre de tri (défaut, titre, artiste, album, année, durée).
+     */
+    private void setupSort() {
+        sortChipGroup.setOnCheckedChangeListener((group, checkedId) -> {
+            if (checkedId == R.id.sortTitle) {
+                currentSort = SortOrders.SORT_TITLE;
+            } else if (checkedId == R.id.sortArtist) {
+                currentSort = SortOrders.SORT_ARTIST;
+            } else if (checkedId == R.id.sortAlbum) {
+                currentSort = SortOrders.SORT_ALBUM;
+            } else if (checkedId == R.id.sortYear) {
+                currentSort = SortOrders.SORT_YEAR;
+            } else if (checkedId == R.id.sortDuration) {
+                currentSort = SortOrders.SORT_DURATION;
+            } else {
+                currentSort = SortOrders.SORT_DEFAULT;
             }
+            filterTracks();
+        });
+    }
 
-            filteredTracks = uniqueTracks;
-        } else {
-            // Filtrage normal
-            filteredTracks = allTracks.stream()
-                    .filter(track -> {
-                        // Si un élément est sélectionné (album ou artiste), filtrer par cet élément
-                        if (!selectedItem.isEmpty()) {
-                            switch (currentFilter) {
-                                case FILTER_ALBUM:
-                                    if (!track.album.equals(selectedItem)) return false;
-                                    break;
-                                case FILTER_ARTIST:
-                                    if (!track.artist.equals(selectedItem)) return false;
-                                    break;
-                            }
-                        }
+    /**
+     * Filtre la liste des morceaux en fonction des critères actuels.
+     * Prend en compte la recherche, les filtres, le tri et l'état des favoris.
+     * Le résultat est lu dans le cache partagé quand les mêmes critères ont déjà
+     * été évalués, et rien n'est refait si l'affichage correspond déjà aux critères.
+     */
+    private void filterTracks() {
+        TrackCatalog catalog = TrackCatalog.getInstance();
+        int favoritesVersion = getContext() != null
+                ? FavoritesManager.getInstance(getContext()).getVersion() : 0;
+        SearchResultCache.Key key = new SearchResultCache.Key(catalog.getVersion(), favoritesVersion,
+                showFavorites, currentFilter, showUniqueItems, selectedItem, facetSelection,
+                currentSort, currentQuery);
+        if (key.equals(displayedKey)) {
+            // Changement d'onglet sans modification : seuls les cœurs peuvent avoir changé
+            if (favoritesVersion != displayedFavoritesVersion) {
+                displayedFavoritesVersion = favoritesVersion;
+                adapter.notifyFavoritesChanged();
+            }
+            return;
+        }
 
-                        if (currentQuery.isEmpty()) {
-                            return true;
-                        }
-                        switch (currentFilter) {
-                            case FILTER_TITLE:
-                                return track.title.toLowerCase().contains(currentQuery);
-                            case FILTER_ARTIST:
-                                return track.artist.toLowerCase().contains(currentQuery);
-                            case FILTER_ALBUM:
-                                return track.album.toLowerCase().contains(currentQuery);
-                            default: // FILTER_ALL
-                                return track.title.toLowerCase().contains(currentQuery) ||
-                                       track.artist.toLowerCase().contains(currentQuery) ||
-                                       track.album.toLowerCase().contains(currentQuery);
-                        }
-                    })
-                    .collect(Collectors.toList());
+        boolean lyricsIndexing = currentFilter == FILTER_LYRICS && !currentQuery.isEmpty()
+                && catalog.getLyricsIndex() == null;
+        SearchResultCache cache = SearchResultCache.getInstance();
+        SearchResultCache.Result result = cache.get(key);
+        boolean complete = indexesReady(catalog);
+        if (result == null) {
+            long start = System.nanoTime();
+            result = computeResult(catalog);
+            if (complete) {
+                cache.put(key, result);
+            }
+            Log.d(TAG, "Résultat calculé en " + (System.nanoTime() - start) / 1000 + " µs, "
+                    + "cache : " + cache.getHitCount() + " succès / " + cache.getMissCount() + " échecs");
         }
+        // Un résultat provisoire (index en construction) doit être recalculé à la publication
+        displayedKey = complete ? key : null;
+        displayedFavoritesVersion = favoritesVersion;
 
-        if (showFavorites && getContext() != null) {
-            filteredTracks = FavoritesManager.getInstance(getContext())
-                    .getFavoriteTracks(filteredTracks);
+        List<Track> filteredTracks = new ArrayList<>(result.ordinals.length);
+        for (int ordinal : result.ordinals) {
+            filteredTracks.add(allTracks.get(ordinal));
         }
 
+        adapter.setSnippets(result.snippets);
         adapter.updateData(filteredTracks);
 
         if (filteredTracks.isEmpty()) {
             String message;
-            if (currentQuery.isEmpty()) {
+            if (lyricsIndexing) {
+                message = "Indexation des paroles en cours…";
+            } else if (currentQuery.isEmpty()) {
                 if (!selectedItem.isEmpty()) {
                     message = "Aucun morceau trouvé pour " + selectedItem;
                 } else {
@@ -284,6 +472,9 @@ public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavo
                     case FILTER_ALBUM:
                         filterType = "album";
                         break;
+                    case FILTER_LYRICS:
+                        filterType = "parole";
+                        break;
                 }
                 message = "Aucun résultat pour \"" + currentQuery + "\"";
                 if (!filterType.isEmpty()) {
@@ -299,6 +490,191 @@ public class TracksFragment extends Fragment implements TrackAdapter.OnTrackFavo
         }
     }
 
+    /**
+     * Indique si tous les index nécessaires aux critères actuels sont disponibles.
+     * Tant que ce n'est pas le cas, le résultat est provisoire et n'est pas mis en cache.
+     *
+     * @param catalog Catalogue courant
+     * @return true si le résultat calculé est définitif
+     */
+    private boolean indexesReady(TrackCatalog catalog) {
+        if (catalog.getTracks().size() != allTracks.size()) {
+            return false;
+        }
+        if (!currentQuery.isEmpty()) {
+            if (currentFilter == FILTER_LYRICS && catalog.getLyricsIndex() == null) {
+                return false;
+            }
+            if (currentFilter == FILTER_ALL && catalog.getSearchIndex() == null) {
+                return false;
+            }
+        }
+        if ((currentFilter == FILTER_ARTIST || currentFilter == FILTER_ALBUM) && currentGroupIndex() == null) {
+            return false;
+        }
+        if (!facetSelection.isEmpty() && catalog.getFacetEngine() == null) {
+            return false;
+        }
+        return currentSort == SortOrders.SORT_DEFAULT || catalog.getSortOrders() != null;
+    }
+
+    /**
+     * Calcule le résultat des critères actuels sous forme de positions dans le catalogue,
+     * réordonnées par la permutation du mode de tri choisi puis restreintes aux favoris.
+     *
+     * @param catalog Catalogue courant
+     * @return Positions des morceaux à afficher et extraits de paroles éventuels
+     */
+    private SearchResultCache.Result computeResult(TrackCatalog catalog) {
+        int[] ordinals;
+        Map<String, String> snippets = Collections.emptyMap();
+
+        if (currentFilter == FILTER_LYRICS && !currentQuery.isEmpty()) {
+            // Recherche dans les paroles via l'index positionnel
+            LyricsIndex lyricsIndex = catalog.getLyricsIndex();
+            if (lyricsIndex == null) {
+                ordinals = new int[0];
+            } else {
+                List<LyricsIndex.Hit> hits = lyricsIndex.search(currentQuery);
+                ordinals = new int[hits.size()];
+                snippets = new HashMap<>();
+                for (int i = 0; i < hits.size(); i++) {
+                    LyricsIndex.Hit hit = hits.get(i);
+                    ordinals[i] = hit.ordinal;
+                    snippets.put(allTracks.get(hit.ordinal).id, lyricsIndex.getSnippet(hit));
+                }
+            }
+        } else if (currentFilter == FILTER_ALL && !currentQuery.isEmpty()
+                && catalog.getSearchIndex() != null) {
+            // Recherche classée par pertinence : les meilleurs résultats en tête
+            ordinals = catalog.getSearchIndex().search(currentQuery,
+                    SearchIndex.ALL_FIELDS, SearchIndex.DEFAULT_TOP_K);
+        } else if (showUniqueItems && currentGroupIndex() != null) {
+            // Artistes / albums : parcours du dictionnaire de groupes, un représentant par groupe
+            GroupIndex groups = currentGroupIndex();
+            String normalizedQuery = TextNormalizer.normalize(currentQuery);
+            IntList result = new IntList(groups.size());
+            for (int id = 0; id < groups.size(); id++) {
+                if (normalizedQuery.isEmpty() || groups.nameContains(id, normalizedQuery)) {
+                    result.add(groups.getOrdinals(id)[0]);
+                }
+            }
+            ordinals = result.toArray();
+        } else if (showUniqueItems) {
+            // Afficher les éléments uniques de la catégorie sélectionnée
+            Set<String> uniqueItems = new HashSet<>();
+            IntList result = new IntList(16);
+
+            for (int ordinal = 0; ordinal < allTracks.size(); ordinal++) {
+                String item = fieldOf(allTracks.get(ordinal), currentFilter);
+
+                // Vérifier si l'élément correspond à la recherche
+                if (!item.isEmpty() && !uniqueItems.contains(item) &&
+                    (currentQuery.isEmpty() || item.toLowerCase().contains(currentQuery))) {
+                    uniqueItems.add(item);
+                    result.add(ordinal);
+                }
+            }
+
+            ordinals = result.toArray();
+        } else {
+            // Filtrage normal ; un album ou artiste sélectionné se lit directement dans son groupe
+            GroupIndex groups = currentGroupIndex();
+            IntList result = new IntList(16);
+            if (!selectedItem.isEmpty() && groups != null) {
+                int groupId = groups.getId(selectedItem);
+                if (groupId >= 0) {
+                    for (int ordinal : groups.getOrdinals(groupId)) {
+                        if (matchesQuery(allTracks.get(ordinal))) {
+                            result.add(ordinal);
+                        }
+                    }
+                }
+            } else {
+                for (int ordinal = 0; ordinal < allTracks.size(); ordinal++) {
+                    Track track = allTracks.get(ordinal);
+                    // Si un élément est sélectionné (album ou artiste), filtrer par cet élément
+                    if (!selectedItem.isEmpty() && !selectedItem.equals(fieldOf(track, currentFilter))) {
+                        continue;
+                    }
+                    if (matchesQuery(track)) {
+                        result.add(ordinal);
+                    }
+                }
+            }
+            ordinals = result.toArray();
+        }
+
+        // Filtres combinés : ET mot à mot avec l'ensemble de bits de la sélection
+        FacetEngine facets = catalog.getFacetEngine();
+        if (!showUniqueItems && !facetSelection.isEmpty() && facets != null && getContext() != null) {
+            long[] favoritesBits = facetSelection.isFavoritesOnly()
+                    ? facets.getFavoritesBits(FavoritesManager.getInstance(getContext())) : null;
+            ordinals = FacetEngine.retain(facets.evaluate(facetSelection, favoritesBits), ordinals);
+        }
+
+        SortOrders sortOrders = catalog.getSortOrders();
+        if (currentSort != SortOrders.SORT_DEFAULT && sortOrders != null
+                && sortOrders.size() == allTracks.size()) {
+            ordinals = sortOrders.sort(currentSort, ordinals);
+        }
+
+        if (showFavorites && getContext() != null) {
+            FavoritesManager favorites = FavoritesManager.getInstance(getContext());
+            IntList kept = new IntList(ordinals.length);
+            for (int ordinal : ordinals) {
+                if (favorites.isFavorite(allTracks.get(ordinal))) {
+                    kept.add(ordinal);
+                }
+            }
+            ordinals = kept.toArray();
+        }
+
+        return new SearchResultCache.Result(ordinals, snippets);
+    }
+
+    /**
+     * Retourne la valeur du champ correspondant à un filtre.
+     *
+     * @param track Morceau
+     * @param filter Filtre (FILTER_TITLE, FILTER_ARTIST ou FILTER_ALBUM)
+     * @return Valeur du champ, chaîne vide pour les autres filtres
+     */
+    private static String fieldOf(Track track, int filter) {
+        switch (filter) {
+            case FILTER_TITLE:
+                return track.title;
+            case FILTER_ARTIST:
+                return track.artist;
+            case FILTER_ALBUM:
+                return track.album;
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Indique si un morceau correspond à la recherche en cours pour le filtre courant.
+     *
+     * @param track Morceau à tester
+     * @return true si la recherche est vide ou si le champ filtré la contient
+     */
+    private boolean matchesQuery(Track track) {
+        if (currentQuery.isEmpty()) {
+            return true;
+        }
+        switch (currentFilter) {
+            case FILTER_TITLE:
+            case FILTER_ARTIST:
+            case FILTER_ALBUM:
+                return fieldOf(track, currentFilter).toLowerCase().contains(currentQuery);
+            default: // FILTER_ALL
+                return track.title.toLowerCase().contains(currentQuery) ||
+                       track.artist.toLowerCase().contains(currentQuery) ||
+                       track.album.toLowerCase().contains(currentQuery);
+        }
+    }
+
     /**
      * Met à jour la liste des morceaux et applique les filtres actuels.
      * 
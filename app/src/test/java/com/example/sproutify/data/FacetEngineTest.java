@@ -0,0 +1,145 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.sproutify.data.TestTracks.dated;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests de l'évaluation des filtres combinés et des comptes par valeur.
+ */
+public class FacetEngineTest {
+
+    private final List<Track> tracks = Arrays.asList(
+            dated(0, "Daft Punk", "Discovery", "2001"),
+            dated(1, "Daft Punk", "Homework", "1997"),
+            dated(2, "Air", "Moon Safari", "1998"),
+            dated(3, "Daft Punk", "Discovery", "2001"),
+            dated(4, "Justice", "Cross", "2007"),
+            dated(5, "Air", "Talkie Walkie", ""));
+    private final GroupIndex artists = GroupIndex.build(tracks, track -> track.artist);
+    private final GroupIndex albums = GroupIndex.build(tracks, track -> track.album);
+    private final FacetEngine engine = FacetEngine.build(tracks, artists, albums);
+
+    private int decade(String label) {
+        for (int value = 0; value < engine.getValueCount(FacetEngine.FACET_YEAR); value++) {
+            if (engine.getValueLabel(FacetEngine.FACET_YEAR, value).equals(label)) {
+                return value;
+            }
+        }
+        throw new AssertionError("Décennie absente : " + label);
+    }
+
+    private int[] retained(FacetEngine.Selection selection, long[] favorites) {
+        return FacetEngine.retain(engine.evaluate(selection, favorites), new int[] { 0, 1, 2, 3, 4, 5 });
+    }
+
+    @Test
+    public void decadesAreNewestFirstWithUnknownLast() {
+        assertEquals(3, engine.getValueCount(FacetEngine.FACET_YEAR));
+        assertEquals("Années 2000", engine.getValueLabel(FacetEngine.FACET_YEAR, 0));
+        assertEquals("Années 1990", engine.getValueLabel(FacetEngine.FACET_YEAR, 1));
+        assertEquals("Date inconnue", engine.getValueLabel(FacetEngine.FACET_YEAR, 2));
+    }
+
+    @Test
+    public void valuesOfOneFacetAreCombinedWithOr() {
+        FacetEngine.Selection selection = FacetEngine.Selection.EMPTY
+                .with(FacetEngine.FACET_ARTIST, artists.getId("Air"), true)
+                .with(FacetEngine.FACET_ARTIST, artists.getId("Justice"), true);
+        assertArrayEquals(new int[] { 2, 4, 5 }, retained(selection, null));
+    }
+
+    @Test
+    public void facetsAreCombinedWithAnd() {
+        FacetEngine.Selection selection = FacetEngine.Selection.EMPTY
+                .with(FacetEngine.FACET_ARTIST, artists.getId("Daft Punk"), true)
+                .with(FacetEngine.FACET_YEAR, decade("Années 2000"), true);
+        assertArrayEquals(new int[] { 0, 3 }, retained(selection, null));
+    }
+
+    @Test
+    public void favoritesRestrictTheResult() {
+        long[] favorites = new long[1];
+        favorites[0] |= 1L << 1;
+        favorites[0] |= 1L << 4;
+        FacetEngine.Selection selection = FacetEngine.Selection.EMPTY
+                .with(FacetEngine.FACET_ARTIST, artists.getId("Daft Punk"), true)
+                .withFavoritesOnly(true);
+        assertArrayEquals(new int[] { 1 }, retained(selection, favorites));
+    }
+
+    @Test
+    public void countsIgnoreTheCountedFacetButApplyTheOthers() {
+        FacetEngine.Selection selection = FacetEngine.Selection.EMPTY
+                .with(FacetEngine.FACET_ARTIST, artists.getId("Daft Punk"), true)
+                .with(FacetEngine.FACET_YEAR, decade("Années 2000"), true);
+
+        int[] artistCounts = engine.counts(FacetEngine.FACET_ARTIST, selection, null);
+        assertEquals(2, artistCounts[artists.getId("Daft Punk")]);
+        assertEquals(1, artistCounts[artists.getId("Justice")]);
+        assertEquals(0, artistCounts[artists.getId("Air")]);
+
+        int[] yearCounts = engine.counts(FacetEngine.FACET_YEAR, selection, null);
+        assertEquals(2, yearCounts[decade("Années 2000")]);
+        assertEquals(1, yearCounts[decade("Années 1990")]);
+        assertEquals(0, yearCounts[decade("Date inconnue")]);
+    }
+
+    @Test
+    public void countsWithoutSelectionCoverTheWholeCatalog() {
+        int[] albumCounts = engine.counts(FacetEngine.FACET_ALBUM, FacetEngine.Selection.EMPTY, null);
+        assertEquals(albums.size(), albumCounts.length);
+        assertEquals(2, albumCounts[albums.getId("Discovery")]);
+        int total = 0;
+        for (int count : albumCounts) {
+            total += count;
+        }
+        assertEquals(tracks.size(), total);
+    }
+
+    @Test
+    public void selectionEqualityAndSize() {
+        FacetEngine.Selection a = FacetEngine.Selection.EMPTY.with(FacetEngine.FACET_ALBUM, 2, true);
+        FacetEngine.Selection b = FacetEngine.Selection.EMPTY.with(FacetEngine.FACET_ALBUM, 2, true);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(1, a.size());
+        assertTrue(a.with(FacetEngine.FACET_ALBUM, 2, false).isEmpty());
+        assertFalse(a.withFavoritesOnly(true).isEmpty());
+    }
+
+    @Test
+    public void valueSearchMatchesNormalizedNames() {
+        assertTrue(engine.valueContains(FacetEngine.FACET_ALBUM, albums.getId("Talkie Walkie"),
+                TextNormalizer.normalize("walk")));
+        assertFalse(engine.valueContains(FacetEngine.FACET_ARTIST, artists.getId("Air"),
+                TextNormalizer.normalize("punk")));
+        assertTrue(engine.valueContains(FacetEngine.FACET_YEAR, decade("Années 1990"),
+                TextNormalizer.normalize("ANNEES 199")));
+    }
+
+    @Test
+    public void largeCatalogSpansSeveralWords() {
+        List<Track> many = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            many.add(dated(i, i % 2 == 0 ? "Pair" : "Impair", "Album " + (i % 5), "19" + (70 + i % 30)));
+        }
+        GroupIndex manyArtists = GroupIndex.build(many, track -> track.artist);
+        FacetEngine large = FacetEngine.build(many, manyArtists, GroupIndex.build(many, track -> track.album));
+        FacetEngine.Selection selection = FacetEngine.Selection.EMPTY
+                .with(FacetEngine.FACET_ARTIST, manyArtists.getId("Pair"), true);
+        assertEquals(100, FacetEngine.cardinality(large.evaluate(selection, null)));
+        int[] counts = large.counts(FacetEngine.FACET_ARTIST, selection, null);
+        assertEquals(100, counts[manyArtists.getId("Impair")]);
+    }
+}
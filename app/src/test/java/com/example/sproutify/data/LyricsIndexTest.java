@@ -0,0 +1,80 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.sproutify.data.TestTracks.withLyrics;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests de la recherche dans les paroles (mots, phrases) et des extraits.
+ */
+public class LyricsIndexTest {
+
+    private final LyricsIndex index = LyricsIndex.build(Arrays.asList(
+            withLyrics(0, "Le soleil se lève;Sur la ville endormie;Le soleil brille encore"),
+            withLyrics(1, "La ville lève le soleil;\"Dit-il doucement\""),
+            withLyrics(2, "Rien ici;Toujours rien"),
+            withLyrics(3, null)));
+
+    private static int[] ordinals(List<LyricsIndex.Hit> hits) {
+        int[] result = new int[hits.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = hits.get(i).ordinal;
+        }
+        return result;
+    }
+
+    @Test
+    public void everyWordMustBePresentAnywhereInTheTrack() {
+        assertArrayEquals(new int[] { 0, 1 }, ordinals(index.search("soleil ville")));
+        assertArrayEquals(new int[] { 2 }, ordinals(index.search("rien")));
+        assertTrue(index.search("soleil absent").isEmpty());
+    }
+
+    @Test
+    public void phraseMustMatchConsecutiveWordsOnOneLine() {
+        assertArrayEquals(new int[] { 0 }, ordinals(index.search("\"soleil se leve\"")));
+        assertArrayEquals(new int[] { 1 }, ordinals(index.search("\"leve le soleil\"")));
+        assertTrue(index.search("\"soleil ville\"").isEmpty());
+    }
+
+    @Test
+    public void hitsListTheMatchingLines() {
+        List<LyricsIndex.Hit> hits = index.search("soleil");
+        assertEquals(2, hits.size());
+        assertArrayEquals(new int[] { 0, 2 }, hits.get(0).lines);
+        assertArrayEquals(new int[] { 0 }, hits.get(1).lines);
+    }
+
+    @Test
+    public void snippetJoinsMatchingLines() {
+        LyricsIndex.Hit hit = index.search("soleil").get(0);
+        assertEquals("Le soleil se lève … Le soleil brille encore", index.getSnippet(hit));
+    }
+
+    @Test
+    public void linesAreCleanedOfCsvQuotes() {
+        assertEquals("Dit-il doucement", index.getLine(1, 1));
+        assertEquals("", index.getLine(1, 5));
+        assertEquals("", index.getLine(3, 0));
+    }
+
+    @Test
+    public void snippetKeepsAtMostThreeLines() {
+        LyricsIndex many = LyricsIndex.build(Arrays.asList(withLyrics(0, "a x;b x;c x;d x;e x")));
+        assertArrayEquals(new int[] { 0, 1, 2 }, many.search("x").get(0).lines);
+    }
+
+    @Test
+    public void emptyQueryFindsNothing() {
+        assertTrue(index.search("").isEmpty());
+        assertTrue(index.search("   ").isEmpty());
+    }
+}
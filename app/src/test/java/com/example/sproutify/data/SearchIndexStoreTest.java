@@ -0,0 +1,122 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.sproutify.data.TestTracks.track;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests de l'écriture et de la relecture de l'index de recherche sur disque.
+ */
+public class SearchIndexStoreTest {
+
+    private File dir;
+    private final List<Track> tracks = Arrays.asList(
+            track(0, "Paradise", "Coldplay", "Mylo Xyloto"),
+            track(1, "Paradise City", "Guns N' Roses", "Appetite for Destruction"),
+            track(2, "Yellow", "Coldplay", "Parachutes"));
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("search-index-store").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void savedIndexReopensWithSameResults() {
+        SearchIndex built = SearchIndex.build(tracks);
+        File file = SearchIndexStore.fileFor(dir, 42L);
+        assertTrue(SearchIndexStore.save(built, file));
+
+        SearchIndex reopened = SearchIndexStore.open(file);
+        assertNotNull(reopened);
+        assertEquals(3, reopened.getDocCount());
+        assertArrayEquals(built.search("paradise", SearchIndex.ALL_FIELDS, 10),
+                reopened.search("paradise", SearchIndex.ALL_FIELDS, 10));
+        assertArrayEquals(new int[] { 0, 2 }, reopened.search("coldplay", SearchIndex.ALL_FIELDS, 10));
+    }
+
+    @Test
+    public void saveDeletesIndexesOfOtherCatalogs() {
+        File old = SearchIndexStore.fileFor(dir, 1L);
+        File current = SearchIndexStore.fileFor(dir, 2L);
+        assertTrue(SearchIndexStore.save(SearchIndex.build(tracks), old));
+        assertTrue(SearchIndexStore.save(SearchIndex.build(tracks), current));
+        assertFalse(old.exists());
+        assertTrue(current.exists());
+    }
+
+    @Test
+    public void missingFileIsNotAnIndex() {
+        assertNull(SearchIndexStore.open(SearchIndexStore.fileFor(dir, 7L)));
+    }
+
+    @Test
+    public void truncatedFileIsRejectedAndDeleted() throws IOException {
+        File file = SearchIndexStore.fileFor(dir, 3L);
+        assertTrue(SearchIndexStore.save(SearchIndex.build(tracks), file));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+        assertNull(SearchIndexStore.open(file));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void savedIndexPassesCrcCheck() {
+        File file = SearchIndexStore.fileFor(dir, 5L);
+        assertTrue(SearchIndexStore.save(SearchIndex.build(tracks), file));
+        assertTrue(SearchIndexStore.verify(file));
+    }
+
+    @Test
+    public void corruptedBodyFailsCrcCheck() throws IOException {
+        File file = SearchIndexStore.fileFor(dir, 4L);
+        assertTrue(SearchIndexStore.save(SearchIndex.build(tracks), file));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long position = raf.length() - 3;
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+        assertFalse(SearchIndexStore.verify(file));
+    }
+
+    @Test
+    public void foreignFileIsRejectedAndDeleted() throws IOException {
+        File file = SearchIndexStore.fileFor(dir, 6L);
+        assertTrue(SearchIndexStore.save(SearchIndex.build(tracks), file));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0);
+        }
+        assertNull(SearchIndexStore.open(file));
+        assertFalse(file.exists());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.sproutify.data.TestTracks.track;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests du classement et de la complétion de préfixe de l'index de recherche.
+ */
+public class SearchIndexTest {
+
+    @Test
+    public void exactTitleRanksFirst() {
+        List<Track> tracks = Arrays.asList(
+                track(0, "Love Me Tender", "Elvis Presley", "Elvis"),
+                track(1, "Love Me", "Other", "Other"),
+                track(2, "Something", "Love Me Band", "Love Me"));
+        int[] result = SearchIndex.build(tracks).search("love me", SearchIndex.ALL_FIELDS, 10);
+        assertEquals(3, result.length);
+        assertEquals(1, result[0]);
+    }
+
+    @Test
+    public void exactTitleBonusRespectsWordOrder() {
+        List<Track> tracks = Arrays.asList(
+                track(0, "Me Love", "A", "X"),
+                track(1, "Love Me", "B", "Y"));
+        SearchIndex index = SearchIndex.build(tracks);
+        assertEquals(1, index.search("love me ", SearchIndex.ALL_FIELDS, 10)[0]);
+        assertEquals(0, index.search("me love ", SearchIndex.ALL_FIELDS, 10)[0]);
+    }
+
+    @Test
+    public void titleMatchOutranksAlbumMatch() {
+        List<Track> tracks = Arrays.asList(
+                track(0, "Intro", "Someone", "Paradise"),
+                track(1, "Paradise", "Someone Else", "Hits"));
+        int[] result = SearchIndex.build(tracks).search("paradise", SearchIndex.ALL_FIELDS, 10);
+        assertArrayEquals(new int[] { 1, 0 }, result);
+    }
+
+    @Test
+    public void everyWordMustMatch() {
+        List<Track> tracks = Arrays.asList(
+                track(0, "Blue Monday", "New Order", "Power"),
+                track(1, "Blue Velvet", "Bobby Vinton", "Blue"));
+        int[] result = SearchIndex.build(tracks).search("blue order", SearchIndex.ALL_FIELDS, 10);
+        assertArrayEquals(new int[] { 0 }, result);
+    }
+
+    @Test
+    public void lastWordIsCompletedAsPrefixOnlyWithoutTrailingSpace() {
+        List<Track> tracks = Arrays.asList(
+                track(0, "Paradise", "A", "X"),
+                track(1, "Para", "B", "Y"));
+        SearchIndex index = SearchIndex.build(tracks);
+        assertEquals(2, index.search("para", SearchIndex.ALL_FIELDS, 10).length);
+        assertArrayEquals(new int[] { 1 }, index.search("para ", SearchIndex.ALL_FIELDS, 10));
+    }
+
+    @Test
+    public void shortPrefixKeepsEveryMatch() {
+        // Plus de termes commençant par "a" que l'ancienne limite d'expansion
+        List<Track> tracks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tracks.add(track(i, "a" + Integer.toString(i, 26).replace('0', 'z') + "x", "Artist", "Album"));
+        }
+        int[] result = SearchIndex.build(tracks).search("a", 1 << SearchIndex.FIELD_TITLE, 10);
+        assertEquals(200, result.length);
+    }
+
+    @Test
+    public void accentsAndCaseAreIgnored() {
+        List<Track> tracks = Arrays.asList(track(0, "Où est l'Été", "Zaz", "Recto"));
+        SearchIndex index = SearchIndex.build(tracks);
+        assertArrayEquals(new int[] { 0 }, index.search("ETE", SearchIndex.ALL_FIELDS, 10));
+        assertArrayEquals(new int[] { 0 }, index.search("ou", SearchIndex.ALL_FIELDS, 10));
+    }
+
+    @Test
+    public void resultsBeyondTopKFollowInCatalogOrder() {
+        List<Track> tracks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tracks.add(track(i, "Song " + i, "Band", "Record"));
+        }
+        int[] result = SearchIndex.build(tracks).search("band", SearchIndex.ALL_FIELDS, 5);
+        assertEquals(20, result.length);
+        for (int i = 6; i < result.length; i++) {
+            assertTrue(result[i - 1] < result[i]);
+        }
+    }
+
+    @Test
+    public void reopenedBufferGivesSameResults() {
+        List<Track> tracks = Arrays.asList(
+                track(0, "Paradise", "A", "X"),
+                track(1, "Paradise City", "B", "Y"));
+        SearchIndex built = SearchIndex.build(tracks);
+        SearchIndex reopened = new SearchIndex(built.getBuffer());
+        assertArrayEquals(built.search("paradise", SearchIndex.ALL_FIELDS, 10),
+                reopened.search("paradise", SearchIndex.ALL_FIELDS, 10));
+        assertEquals(2, reopened.getDocCount());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.sproutify.data.TestTracks.track;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests des ordres de tri précalculés du catalogue.
+ */
+public class SortOrdersTest {
+
+    private final List<Track> tracks = Arrays.asList(
+            track(0, "Zombie", "The Cranberries", "No Need to Argue", "1994", "5.06"),
+            track(1, "été indien", "Joe Dassin", "Joe Dassin", "1975", "3.55"),
+            track(2, "Alors on danse", "Stromae", "Cheese", "2010", "3.26"),
+            track(3, "Ode to My Family", "The Cranberries", "Everybody Else", "1994", "4.31"),
+            track(4, "Éclipse", "Aaron", "Artificial Animals", "2007", "3.55"));
+
+    private final SortOrders orders = SortOrders.build(tracks);
+
+    @Test
+    public void titleSortIgnoresCaseAndAccents() {
+        assertArrayEquals(new int[] { 2, 4, 1, 3, 0 },
+                orders.sort(SortOrders.SORT_TITLE, new int[] { 0, 1, 2, 3, 4 }));
+    }
+
+    @Test
+    public void artistSortFallsBackToAlbum() {
+        assertArrayEquals(new int[] { 4, 1, 2, 3, 0 },
+                orders.sort(SortOrders.SORT_ARTIST, new int[] { 0, 1, 2, 3, 4 }));
+    }
+
+    @Test
+    public void yearSortPutsNewestFirstAndKeepsCatalogOrderOnTies() {
+        assertArrayEquals(new int[] { 2, 4, 0, 3, 1 },
+                orders.sort(SortOrders.SORT_YEAR, new int[] { 4, 3, 2, 1, 0 }));
+    }
+
+    @Test
+    public void durationSortIsAscending() {
+        assertArrayEquals(new int[] { 2, 1, 4, 3, 0 },
+                orders.sort(SortOrders.SORT_DURATION, new int[] { 0, 1, 2, 3, 4 }));
+    }
+
+    @Test
+    public void durationSortReadsCatalogDecimalMinutes() {
+        // Durées du CSV en minutes décimales : "3.90" (234 s) est plus court que "4.00" (240 s)
+        SortOrders catalog = SortOrders.build(Arrays.asList(
+                track(0, "A", "X", "Y", "2000", "4.00"),
+                track(1, "B", "X", "Y", "2000", "3.90"),
+                track(2, "C", "X", "Y", "2000", "4.50"),
+                track(3, "D", "X", "Y", "2000", "3.80")));
+        assertArrayEquals(new int[] { 3, 1, 0, 2 },
+                catalog.sort(SortOrders.SORT_DURATION, new int[] { 0, 1, 2, 3 }));
+    }
+
+    @Test
+    public void subsetIsSortedWithoutAddingTracks() {
+        assertArrayEquals(new int[] { 3, 0 }, orders.sort(SortOrders.SORT_TITLE, new int[] { 0, 3 }));
+    }
+
+    @Test
+    public void defaultModeReturnsInputUnchanged() {
+        int[] ordinals = { 3, 1, 4 };
+        assertSame(ordinals, orders.sort(SortOrders.SORT_DEFAULT, ordinals));
+    }
+
+    @Test
+    public void sparseAndDensePathsAgree() {
+        List<Track> many = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            many.add(track(i, "Titre " + ((i * 7919) % 1000), "Artiste", "Album", "2000", "3.00"));
+        }
+        SortOrders large = SortOrders.build(many);
+        assertEquals(1000, large.size());
+        int[] few = { 10, 500, 3 };
+        int[] sparse = large.sort(SortOrders.SORT_TITLE, few);
+
+        int[] all = new int[1000];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        int[] dense = large.sort(SortOrders.SORT_TITLE, all);
+        int[] expected = new int[few.length];
+        int count = 0;
+        for (int ordinal : dense) {
+            if (ordinal == 10 || ordinal == 500 || ordinal == 3) {
+                expected[count++] = ordinal;
+            }
+        }
+        assertArrayEquals(expected, sparse);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.sproutify.data.TestTracks.track;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests de la complétion des mots des titres, artistes et albums.
+ */
+public class SuggestionIndexTest {
+
+    private final SuggestionIndex index = SuggestionIndex.build(Arrays.asList(
+            track(0, "Parade", "Prince", "Parade"),
+            track(1, "Paradise", "Coldplay", "Mylo Xyloto"),
+            track(2, "Paradise City", "Guns N' Roses", "Appetite"),
+            track(3, "Paris", "Été Sauvage", "Paradise"),
+            track(4, "Purple Rain", "Prince", "Purple Rain")));
+
+    @Test
+    public void mostFrequentWordsComeFirst() {
+        // "paradise" : 3 morceaux, "parade" : 1 (compté une fois malgré le titre et l'album), "paris" : 1
+        assertEquals(Arrays.asList("paradise", "parade", "paris"), index.complete("par", 10));
+    }
+
+    @Test
+    public void limitKeepsTheHeaviestWords() {
+        assertEquals(Arrays.asList("paradise"), index.complete("par", 1));
+        assertEquals(Arrays.asList("paradise", "parade"), index.complete("par", 2));
+    }
+
+    @Test
+    public void prefixIsNormalizedAndLabelsKeepAccents() {
+        assertEquals(Arrays.asList("été"), index.complete("ETE", 5));
+        assertEquals(Arrays.asList("paradise", "prince"), index.complete("p", 2));
+    }
+
+    @Test
+    public void unknownOrEmptyPrefixGivesNothing() {
+        assertTrue(index.complete("zz", 5).isEmpty());
+        assertTrue(index.complete("", 5).isEmpty());
+        assertTrue(index.complete("par", 0).isEmpty());
+    }
+
+    @Test
+    public void wholeRangeIsSearchedOnLargeVocabulary() {
+        List<Track> tracks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tracks.add(track(i, "mot" + i, "artiste", "album"));
+        }
+        for (int i = 0; i < 7; i++) {
+            tracks.add(track(500 + i, "mot250", "artiste", "album"));
+        }
+        SuggestionIndex large = SuggestionIndex.build(tracks);
+        List<String> words = large.complete("mot", 3);
+        assertEquals(3, words.size());
+        assertEquals("mot250", words.get(0));
+        // "mot25" puis "mot250" à "mot259"
+        assertEquals(11, large.complete("mot25", 20).size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.sproutify.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests de l'analyse des paroles LRC et de la recherche de la ligne en cours.
+ */
+public class SyncedLyricsTest {
+
+    @Test
+    public void linesAreParsedWithTheirStartTimes() {
+        SyncedLyrics lyrics = SyncedLyrics.parse("[ar:Artiste];[00:01.50]Première;[00:04.2]Deuxième;[01:02.345] Troisième ");
+        assertNotNull(lyrics);
+        assertEquals(3, lyrics.size());
+        assertEquals(1500, lyrics.getStartTime(0));
+        assertEquals("Première", lyrics.getLine(0));
+        assertEquals(4200, lyrics.getStartTime(1));
+        assertEquals(62345, lyrics.getStartTime(2));
+        assertEquals("Troisième", lyrics.getLine(2));
+    }
+
+    @Test
+    public void repeatedLineWithSeveralTagsIsSortedChronologically() {
+        SyncedLyrics lyrics = SyncedLyrics.parse("[00:10.00][00:30.00]Refrain;[00:20.00]Couplet");
+        assertNotNull(lyrics);
+        assertEquals(3, lyrics.size());
+        assertEquals("Refrain", lyrics.getLine(0));
+        assertEquals("Couplet", lyrics.getLine(1));
+        assertEquals("Refrain", lyrics.getLine(2));
+        assertEquals(30000, lyrics.getStartTime(2));
+    }
+
+    @Test
+    public void offsetShiftsEveryLine() {
+        SyncedLyrics lyrics = SyncedLyrics.parse("[offset:+500];[00:01.00]Un;[00:00.20]Zéro");
+        assertNotNull(lyrics);
+        assertEquals(0, lyrics.getStartTime(0));
+        assertEquals(500, lyrics.getStartTime(1));
+    }
+
+    @Test
+    public void unsynchronizedLyricsAreNotParsed() {
+        assertNull(SyncedLyrics.parse(null));
+        assertNull(SyncedLyrics.parse("Une ligne;Une autre"));
+        assertNull(SyncedLyrics.parse("[ar:Artiste];[ti:Titre];Texte"));
+        assertNull(SyncedLyrics.parse("[00:75.00]Secondes invalides"));
+    }
+
+    @Test
+    public void lineAtReturnsTheLastStartedLine() {
+        SyncedLyrics lyrics = SyncedLyrics.parse("[00:01.00]A;[00:03.00]B;[00:05.00]C");
+        assertNotNull(lyrics);
+        assertEquals(-1, lyrics.lineAt(0));
+        assertEquals(-1, lyrics.lineAt(999));
+        assertEquals(0, lyrics.lineAt(1000));
+        assertEquals(0, lyrics.lineAt(2999));
+        assertEquals(1, lyrics.lineAt(3000));
+        assertEquals(2, lyrics.lineAt(5000));
+        assertEquals(2, lyrics.lineAt(600_000));
+    }
+}
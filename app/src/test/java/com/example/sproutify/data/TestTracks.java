@@ -0,0 +1,41 @@
+package com.example.sproutify.data;
+
+import com.example.sproutify.model.Track;
+
+/**
+ * Morceaux de test, construits comme ceux du CSV (identifiant = numéro de ligne).
+ */
+final class TestTracks {
+
+    private TestTracks() { }
+
+    /**
+     * @return Morceau de l'an 2000, de trois minutes, sans paroles
+     */
+    static Track track(int id, String title, String artist, String album) {
+        return track(id, title, artist, album, "2000", "3.00");
+    }
+
+    /**
+     * @param duration Durée au format du CSV
+     * @return Morceau sans pochette ni paroles
+     */
+    static Track track(int id, String title, String artist, String album, String date, String duration) {
+        return new Track(String.valueOf(id), title, album, artist, date, "", "", "", duration);
+    }
+
+    /**
+     * @return Morceau titré d'après son identifiant, pour les tests de facettes
+     */
+    static Track dated(int id, String artist, String album, String date) {
+        return track(id, "Titre " + id, artist, album, date, "3.00");
+    }
+
+    /**
+     * @param lyrics Paroles, lignes séparées par LyricsIndex.LINE_SEPARATOR (peut être null)
+     * @return Morceau portant ces paroles
+     */
+    static Track withLyrics(int id, String lyrics) {
+        return new Track(String.valueOf(id), "Titre " + id, "Album", "Artiste", "2000", "", lyrics, "", "3.00");
+    }
+}